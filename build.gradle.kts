@@ -1,6 +1,7 @@
 plugins {
     id 'fabric-loom' version '1.6.'+
     id 'maven-publish'
+    id 'me.champeau.jmh' version '0.7.2'
 }
 
 version = project.mod_version
@@ -24,6 +25,26 @@ java {
     withSourcesJar()
 }
 
+// Headless microbenchmarks for particle, trail and HUD hot paths: ./gradlew jmh
+jmh {
+    jmhVersion = '1.37'
+    profilers = ['gc']
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    resultFormat = 'JSON'
+}
+
+// Headless replay of one second of combat against the limits in render-budget.properties
+tasks.register('renderBudgetCheck', JavaExec) {
+    group = 'verification'
+    description = 'Fails when a replayed frame exceeds the draw call, vertex or allocation budget'
+    classpath = sourceSets.jmh.runtimeClasspath
+    mainClass = 'com.visualclient.bench.RenderBudgetCheck'
+}
+
+check.dependsOn renderBudgetCheck
+
 jar {
     from('LICENSE') {
         rename it, 'LICENSE_visualclient'
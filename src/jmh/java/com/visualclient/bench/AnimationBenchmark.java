@@ -0,0 +1,58 @@
+package com.visualclient.bench;
+
+import com.visualclient.core.Animator;
+import com.visualclient.core.Easing;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * One animator tick with many tweens running, mixing every easing curve.
+ * Tweens are restarted when they finish, so the running count stays constant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnimationBenchmark {
+    private static final Easing[] EASINGS = Easing.values();
+
+    @Param({"1000", "10000", "100000"})
+    public int tweens;
+
+    private Animator animator;
+    private int[] slots;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        animator = new Animator();
+        slots = new int[tweens];
+        for (int i = 0; i < tweens; i++) {
+            slots[i] = animator.allocate();
+            restart(i);
+        }
+    }
+
+    private void restart(int i) {
+        animator.play(slots[i], 0f, 1f, 10 + i % 30, EASINGS[i % EASINGS.length]);
+    }
+
+    @Benchmark
+    public float tick() {
+        animator.advance(1f);
+        float sum = 0f;
+        for (int i = 0; i < tweens; i++) {
+            if (!animator.isRunning(slots[i])) {
+                restart(i);
+            }
+            sum += animator.get(slots[i]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,78 @@
+package com.visualclient.bench;
+
+import com.visualclient.features.visuals.laminar.ColorLut;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Software color grading of a full 1080p ARGB frame through the baked LUT,
+ * on the calling thread and on worker pools of several sizes, plus the cost of a bake.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColorGradingBenchmark {
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+
+    @Param({"1", "4", "8"})
+    public int workers;
+
+    private ColorLut lut;
+    private int[] source;
+    private int[] frame;
+    private ForkJoinPool forkJoinPool;
+    private boolean toggle;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        lut = new ColorLut();
+        lut.bake("WARM", "MONOCHROME", 0.35f);
+        Random random = new Random(7L);
+        source = new int[WIDTH * HEIGHT];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = 0xFF000000 | random.nextInt(0x1000000);
+        }
+        frame = new int[source.length];
+        if (workers > 1) {
+            forkJoinPool = new ForkJoinPool(workers);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public int[] gradeFrame() {
+        System.arraycopy(source, 0, frame, 0, source.length);
+        if (forkJoinPool == null) {
+            lut.apply(frame, 0, frame.length);
+        } else {
+            lut.applyParallel(frame, forkJoinPool);
+        }
+        return frame;
+    }
+
+    @Benchmark
+    public int[] bake() {
+        // Alternate settings so the unchanged-settings shortcut never applies
+        toggle = !toggle;
+        lut.bake("COOL", "WARM", toggle ? 0.25f : 0.75f);
+        return lut.getTable();
+    }
+}
@@ -0,0 +1,85 @@
+package com.visualclient.bench;
+
+import com.visualclient.features.visuals.opka.CrosshairGeometry;
+import com.visualclient.render.HudQuadBatch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-frame cost of building Opka HUD geometry: the crosshair rebuilt from
+ * trigonometry every frame against the cached geometry, and the hit marker quads.
+ * Only the CPU side of HudQuadBatch is exercised, no GPU is needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HudGeometryBenchmark {
+    private static final int CENTER_X = 480;
+    private static final int CENTER_Y = 270;
+
+    @Param({"CROSS", "CIRCLE"})
+    public String crosshairType;
+
+    private HudQuadBatch batch;
+    private CrosshairGeometry geometry;
+
+    @Setup
+    public void setup() {
+        batch = new HudQuadBatch();
+        geometry = new CrosshairGeometry();
+    }
+
+    @Benchmark
+    public int crosshairPerFrameTrig() {
+        batch.reset();
+        int size = 8;
+        int thickness = 2;
+        switch (crosshairType) {
+            case "CROSS":
+                batch.fill(CENTER_X - size, CENTER_Y - thickness, CENTER_X + size, CENTER_Y + thickness, 0xFFFFFFFF);
+                batch.fill(CENTER_X - thickness, CENTER_Y - size, CENTER_X + thickness, CENTER_Y + size, 0xFFFFFFFF);
+                break;
+            case "CIRCLE":
+                int radius = size / 2;
+                for (int angle = 0; angle < 360; angle += 10) {
+                    int px = (int) (CENTER_X + radius * Math.cos(Math.toRadians(angle)));
+                    int py = (int) (CENTER_Y + radius * Math.sin(Math.toRadians(angle)));
+                    batch.fill(px - 1, py - 1, px + 1, py + 1, 0xFFFFFFFF);
+                }
+                break;
+        }
+        return batch.getQuadCount();
+    }
+
+    @Benchmark
+    public int crosshairCached() {
+        batch.reset();
+        geometry.emit(batch, crosshairType, 1.0f, 0xFFFFFFFF, CENTER_X, CENTER_Y, 0f);
+        return batch.getQuadCount();
+    }
+
+    @Benchmark
+    public int hitMarkerQuads() {
+        batch.reset();
+        int size = 12;
+        int offset = 5;
+        int thickness = 2;
+        int color = 0x80FF0000;
+        for (int corner = 0; corner < 4; corner++) {
+            int sx = (corner & 1) == 0 ? -1 : 1;
+            int sy = (corner & 2) == 0 ? -1 : 1;
+            int ox = CENTER_X + sx * (size + offset);
+            int oy = CENTER_Y + sy * (size + offset);
+            batch.fill(ox, oy, CENTER_X + sx * size, CENTER_Y + sy * (size - thickness), color);
+            batch.fill(ox, oy, CENTER_X + sx * (size - thickness), CENTER_Y + sy * size, color);
+        }
+        return batch.getVertexBytes();
+    }
+}
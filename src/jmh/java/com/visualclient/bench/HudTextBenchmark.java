@@ -0,0 +1,62 @@
+package com.visualclient.bench;
+
+import com.visualclient.features.visuals.topka.CachedLabel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Topka HUD string building. With the gc profiler, the steady CachedLabel rows
+ * should report ~0 B/op, while the String.format and concatenation rows allocate every frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HudTextBenchmark {
+    private CachedLabel speedLabel;
+    private CachedLabel comboLabel;
+    private double speed;
+    private int combo;
+    private int frame;
+
+    @Setup
+    public void setup() {
+        speedLabel = new CachedLabel("Speed: ", 2);
+        comboLabel = new CachedLabel("COMBO x", 0);
+        speed = 0.2873;
+        combo = 7;
+    }
+
+    @Benchmark
+    public String speedFormat() {
+        return "Speed: " + String.format("%.2f", speed);
+    }
+
+    @Benchmark
+    public String speedCachedSteady() {
+        // Sub-precision jitter, as when running in a straight line
+        frame++;
+        return speedLabel.update(speed + (frame & 1) * 0.0001);
+    }
+
+    @Benchmark
+    public String speedCachedChanging() {
+        frame++;
+        return speedLabel.update(speed + (frame & 1) * 0.01);
+    }
+
+    @Benchmark
+    public String comboConcat() {
+        return "COMBO x" + combo;
+    }
+
+    @Benchmark
+    public String comboCachedSteady() {
+        return comboLabel.update(combo);
+    }
+}
@@ -0,0 +1,69 @@
+package com.visualclient.bench;
+
+import com.visualclient.features.visuals.laminar.ParticlePool;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Finds the population where parallel particle integration overtakes the single-threaded path.
+ * {@code workers = 1} runs the single-threaded update; other values use a ForkJoinPool of that size.
+ * Compare rows with equal population to read off the crossover for 4, 8 and 16 workers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParallelUpdateBenchmark {
+    private static final int LIFETIME = 300;
+
+    @Param({"1", "4", "8", "16"})
+    public int workers;
+
+    @Param({"5000", "20000", "50000", "100000", "500000"})
+    public int population;
+
+    private ParticlePool pool;
+    private ForkJoinPool forkJoinPool;
+    private int spawnPerTick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        spawnPerTick = Math.max(1, population / LIFETIME);
+        pool = new ParticlePool(population + spawnPerTick, LIFETIME);
+        if (workers > 1) {
+            forkJoinPool = new ForkJoinPool(workers);
+            pool.setWorkerPool(forkJoinPool);
+            pool.setParallelThreshold(0);
+        } else {
+            pool.setParallelThreshold(Integer.MAX_VALUE);
+        }
+        for (int t = 0; t < LIFETIME; t++) {
+            tick();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        for (int i = 0; i < spawnPerTick; i++) {
+            pool.spawn(0f, 64f, 0f, 0.5f, 0.3f, 0.1f, ParticlePool.TYPE_SQUARE, 0.5f);
+        }
+        pool.update();
+        return pool.size();
+    }
+}
@@ -0,0 +1,122 @@
+package com.visualclient.bench;
+
+import com.visualclient.features.visuals.laminar.ParticlePool;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Steady-state spawn, update and expire of Laminar particles:
+ * the SoA ring pool against the original ArrayList of Vec3d-based particles.
+ * Each operation is one simulation tick that spawns the particles expiring that tick,
+ * so the live population stays at {@code population}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParticlePoolBenchmark {
+    private static final int LIFETIME = 300;
+
+    @Param({"1000", "10000", "100000"})
+    public int population;
+
+    private ParticlePool pool;
+    private List<LegacyParticle> list;
+    private int spawnPerTick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        spawnPerTick = Math.max(1, population / LIFETIME);
+        pool = new ParticlePool(population + spawnPerTick, LIFETIME);
+        pool.setParallelThreshold(Integer.MAX_VALUE);
+        list = new ArrayList<>(population + spawnPerTick);
+
+        // Fill one full lifetime so every later tick retires as many as it spawns
+        for (int t = 0; t < LIFETIME; t++) {
+            poolTick();
+            listTick();
+        }
+    }
+
+    @Benchmark
+    public int poolTick() {
+        for (int i = 0; i < spawnPerTick; i++) {
+            pool.spawn(0f, 64f, 0f, 0.5f, 0.3f, 0.1f, ParticlePool.TYPE_HEART, 0.5f);
+        }
+        pool.update();
+        return pool.size();
+    }
+
+    @Benchmark
+    public int listTick() {
+        for (int i = 0; i < spawnPerTick; i++) {
+            list.add(new LegacyParticle(new Vec3(0, 64, 0), new Vec3(0.5, 0.3, 0.1), LIFETIME));
+        }
+        // The original per-frame code: a removeIf pass followed by a forEach pass
+        list.removeIf(LegacyParticle::isExpired);
+        list.forEach(LegacyParticle::update);
+        return list.size();
+    }
+
+    @Benchmark
+    public int poolSpawnBurst() {
+        // One hit at the maximum particleCount
+        for (int i = 0; i < 30; i++) {
+            pool.spawn(0f, 64f, 0f, 0.5f, 0.3f, 0.1f, ParticlePool.TYPE_HEART, 0.5f);
+        }
+        return pool.size();
+    }
+
+    /**
+     * Immutable vector with the same allocation behaviour as Vec3d
+     */
+    static final class Vec3 {
+        final double x, y, z;
+
+        Vec3(double x, double y, double z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        Vec3 add(Vec3 o) { return new Vec3(x + o.x, y + o.y, z + o.z); }
+        Vec3 add(double ax, double ay, double az) { return new Vec3(x + ax, y + ay, z + az); }
+        Vec3 multiply(double f) { return new Vec3(x * f, y * f, z * f); }
+    }
+
+    /**
+     * The particle class LaminarVisualsModule used before the pool
+     */
+    static final class LegacyParticle {
+        private Vec3 pos;
+        private Vec3 vel;
+        private final int lifetime;
+        private int age;
+
+        LegacyParticle(Vec3 pos, Vec3 vel, int lifetime) {
+            this.pos = pos;
+            this.vel = vel;
+            this.lifetime = lifetime;
+        }
+
+        void update() {
+            age++;
+            pos = pos.add(vel);
+            vel = vel.multiply(0.98);
+            vel = vel.add(0, -0.02, 0);
+        }
+
+        boolean isExpired() {
+            return age >= lifetime;
+        }
+    }
+}
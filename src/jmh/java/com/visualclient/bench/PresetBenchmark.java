@@ -0,0 +1,90 @@
+package com.visualclient.bench;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.visualclient.config.ModConfig;
+import com.visualclient.config.PresetArchive;
+import com.visualclient.config.PresetCodec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Switching between presets: Gson parsing of config.json text against a lookup
+ * in the memory-mapped binary archive. Bytes per preset are printed during setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PresetBenchmark {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    @Param({"8", "64"})
+    public int presets;
+
+    private Path dir;
+    private PresetArchive archive;
+    private String[] names;
+    private String[] json;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("visualclient-presets");
+        archive = new PresetArchive(dir.resolve("presets.vcpa"));
+        archive.open();
+
+        names = new String[presets];
+        json = new String[presets];
+        long jsonBytes = 0;
+        long binaryBytes = 0;
+        String[] gradings = {"NORMAL", "WARM", "COOL", "MONOCHROME"};
+        for (int i = 0; i < presets; i++) {
+            ModConfig config = new ModConfig();
+            config.laminar.particleCount = 1 + i % 30;
+            config.laminar.colorGrading = gradings[i % gradings.length];
+            config.opka.crosshairSize = 0.5f + (i % 4) * 0.25f;
+            config.topka.hudScale = 1f + (i % 3) * 0.25f;
+
+            names[i] = "preset-" + i;
+            json[i] = GSON.toJson(config);
+            archive.save(names[i], config);
+            jsonBytes += json[i].getBytes(StandardCharsets.UTF_8).length;
+            binaryBytes += PresetCodec.encode(config).length;
+        }
+        System.out.printf("%nBytes per preset: json %d, binary %d (archive %d bytes for %d presets)%n",
+            jsonBytes / presets, binaryBytes / presets, archive.getSizeBytes(), presets);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dir.resolve("presets.vcpa"));
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public ModConfig gsonParse() {
+        cursor = (cursor + 1) % presets;
+        return GSON.fromJson(json[cursor], ModConfig.class);
+    }
+
+    @Benchmark
+    public ModConfig archiveLoad() throws IOException {
+        cursor = (cursor + 1) % presets;
+        ModConfig config = new ModConfig();
+        archive.load(names[cursor], config);
+        return config;
+    }
+}
@@ -0,0 +1,147 @@
+package com.visualclient.bench;
+
+import com.sun.management.ThreadMXBean;
+import com.visualclient.core.FrameContext;
+import com.visualclient.core.FrameScheduler;
+import com.visualclient.core.ModuleManager;
+import com.visualclient.features.visuals.laminar.LaminarVisualsModule;
+import com.visualclient.features.visuals.opka.OpkaVisualsModule;
+import com.visualclient.features.visuals.pulse.PulseVisualsModule;
+import com.visualclient.features.visuals.topka.TopkaVisualsModule;
+import com.visualclient.render.HudLayer;
+import com.visualclient.render.RecordingDrawSink;
+import com.visualclient.render.RecordingHudBackend;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * Headless render budget check.
+ * Replays one simulated second of combat (hits, damage, kills, trails) through the real
+ * modules and scheduler with recording sinks, and fails when the worst frame exceeds
+ * the draw call, vertex or allocation limits in render-budget.properties.
+ * Run with ./gradlew renderBudgetCheck; also part of ./gradlew check.
+ */
+public class RenderBudgetCheck {
+    private static final int SCREEN_WIDTH = 960;
+    private static final int SCREEN_HEIGHT = 540;
+    private static final int FRAMES_PER_SECOND = 60;
+    private static final int FRAMES_PER_TICK = 3;  // 20 ticks per second
+
+    private final FrameScheduler scheduler = new FrameScheduler();
+    private final FrameContext context = new FrameContext();
+    private final RecordingDrawSink sink = new RecordingDrawSink();
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private int maxDrawCalls = 0;
+    private int maxVertices = 0;
+    private int tick = 0;
+
+    public static void main(String[] args) throws IOException {
+        Properties budget = new Properties();
+        try (InputStream in = RenderBudgetCheck.class.getResourceAsStream("/render-budget.properties")) {
+            if (in == null) {
+                throw new IOException("render-budget.properties not found on the classpath");
+            }
+            budget.load(in);
+        }
+
+        RenderBudgetCheck check = new RenderBudgetCheck();
+        check.install();
+
+        // First second warms up caches and the JIT, the second one is measured
+        check.replaySecond();
+        check.maxDrawCalls = 0;
+        check.maxVertices = 0;
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = check.threads.getThreadAllocatedBytes(threadId);
+        check.replaySecond();
+        long allocatedPerFrame = (check.threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / FRAMES_PER_SECOND;
+
+        boolean ok = true;
+        ok &= report("draw calls per frame", check.maxDrawCalls, limit(budget, "maxDrawCallsPerFrame"));
+        ok &= report("vertices per frame", check.maxVertices, limit(budget, "maxVerticesPerFrame"));
+        ok &= report("allocated bytes per frame", allocatedPerFrame, limit(budget, "maxAllocatedBytesPerFrame"));
+
+        if (!ok) {
+            System.err.println("Render budget exceeded");
+            System.exit(1);
+        }
+    }
+
+    private void install() {
+        HudLayer.setBackend(new RecordingHudBackend());
+        HudLayer.install(scheduler);
+        // Same lifecycle as the client, with warm-up results applied inline
+        ModuleManager modules = new ModuleManager(scheduler, Runnable::run);
+        modules.register("pulse", PulseVisualsModule::new);
+        modules.register("laminar", LaminarVisualsModule::new);
+        modules.register("opka", OpkaVisualsModule::new);
+        modules.register("topka", TopkaVisualsModule::new);
+        for (String name : new String[] {"pulse", "laminar", "opka", "topka"}) {
+            modules.setEnabled(name, true);
+        }
+        modules.whenReady().join();
+        LaminarVisualsModule.setSimulationSeed(42L);
+
+        context.setSink(sink);
+        context.setWorldSink(sink);
+        context.setScreenSize(SCREEN_WIDTH, SCREEN_HEIGHT);
+        context.setCamera(0, 64, -4, 0f, 15f);
+        context.setPlayer(true, 0.18, 0, 0.12);
+    }
+
+    /**
+     * One second of frames with a tick every third frame
+     */
+    private void replaySecond() {
+        for (int frame = 0; frame < FRAMES_PER_SECOND; frame++) {
+            if (frame % FRAMES_PER_TICK == 0) {
+                simulateTick();
+            }
+
+            sink.beginFrame();
+            context.setTickDelta((frame % FRAMES_PER_TICK) / (float) FRAMES_PER_TICK);
+            scheduler.dispatch(FrameScheduler.Phase.WORLD_RENDER, context);
+            scheduler.dispatch(FrameScheduler.Phase.HUD, context);
+
+            maxDrawCalls = Math.max(maxDrawCalls, sink.getFrameDrawCalls());
+            maxVertices = Math.max(maxVertices, sink.getFrameVertices());
+        }
+    }
+
+    private void simulateTick() {
+        // Two opponents circling in front of the camera leave trails
+        for (int entity = 1; entity <= 2; entity++) {
+            double angle = tick * 0.15 + entity * Math.PI;
+            LaminarVisualsModule.addTrailSample(entity, new Vec3d(Math.cos(angle) * 3, 64, 6 + Math.sin(angle) * 3));
+        }
+
+        // A hit every quarter second, damage and a kill once per second
+        if (tick % 5 == 0) {
+            OpkaVisualsModule.onHit();
+            LaminarVisualsModule.spawnHitParticles(new Vec3d(0, 65, 0));
+        }
+        if (tick % 20 == 7) {
+            PulseVisualsModule.onDamageTaken(4f);
+        }
+        if (tick % 20 == 13) {
+            TopkaVisualsModule.onKill();
+        }
+        scheduler.dispatch(FrameScheduler.Phase.TICK, context);
+        tick++;
+    }
+
+    private static long limit(Properties budget, String key) {
+        return Long.parseLong(budget.getProperty(key).trim());
+    }
+
+    private static boolean report(String name, long value, long limit) {
+        boolean ok = value <= limit;
+        System.out.printf("%-26s %8d / %8d %s%n", name, value, limit, ok ? "ok" : "OVER BUDGET");
+        return ok;
+    }
+}
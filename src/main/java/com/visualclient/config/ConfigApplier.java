@@ -0,0 +1,194 @@
+package com.visualclient.config;
+
+import com.visualclient.core.FrameScheduler;
+import com.visualclient.core.ModuleManager;
+import com.visualclient.core.ProfilerOverlay;
+import com.visualclient.features.visuals.laminar.LaminarVisualsModule;
+import com.visualclient.features.visuals.opka.OpkaVisualsModule;
+import com.visualclient.features.visuals.pulse.PulseVisualsModule;
+import com.visualclient.features.visuals.topka.TopkaVisualsModule;
+import java.util.Objects;
+
+/**
+ * Pushes a ModConfig into the module setters.
+ * Only fields that differ from the previous config are applied, so caches keyed on
+ * unchanged settings (crosshair geometry, color LUT, trail style) stay valid.
+ * Module on/off switches go through {@link ModuleManager} and are applied last, so a
+ * module's warm-up already sees its other settings. Must run on the client thread.
+ */
+public final class ConfigApplier {
+    private ConfigApplier() {
+    }
+
+    /**
+     * Apply the fields of next that differ from previous; a null previous applies everything.
+     * Returns the number of setters called.
+     */
+    public static int apply(ModConfig previous, ModConfig next, FrameScheduler scheduler,
+                            ModuleManager modules, ProfilerOverlay overlay) {
+        int changed = 0;
+        changed += applyPulse(previous != null ? previous.pulse : null, next.pulse);
+        changed += applyLaminar(previous != null ? previous.laminar : null, next.laminar);
+        changed += applyOpka(previous != null ? previous.opka : null, next.opka);
+        changed += applyTopka(previous != null ? previous.topka : null, next.topka);
+        changed += applyGovernor(previous != null ? previous.governor : null, next.governor, scheduler);
+        changed += applyProfiler(previous != null ? previous.profiler : null, next.profiler, scheduler, overlay);
+        changed += applyModule(modules, "pulse", previous != null ? previous.pulse.enabled : null, next.pulse.enabled);
+        changed += applyModule(modules, "laminar", previous != null ? previous.laminar.enabled : null, next.laminar.enabled);
+        changed += applyModule(modules, "opka", previous != null ? previous.opka.enabled : null, next.opka.enabled);
+        changed += applyModule(modules, "topka", previous != null ? previous.topka.enabled : null, next.topka.enabled);
+        return changed;
+    }
+
+    private static int applyModule(ModuleManager modules, String name, Boolean old, boolean now) {
+        if (old != null && old == now) return 0;
+        modules.setEnabled(name, now);
+        return 1;
+    }
+
+    private static int applyPulse(ModConfig.PulseConfig old, ModConfig.PulseConfig now) {
+        int changed = 0;
+        if (old == null || old.intensity != now.intensity) {
+            PulseVisualsModule.setDamageIntensity(now.intensity);
+            changed++;
+        }
+        if (old == null || old.duration != now.duration) {
+            PulseVisualsModule.setEffectDuration(now.duration);
+            changed++;
+        }
+        return changed;
+    }
+
+    private static int applyLaminar(ModConfig.LaminarConfig old, ModConfig.LaminarConfig now) {
+        int changed = 0;
+        if (old == null || !Objects.equals(old.particleType, now.particleType)) {
+            LaminarVisualsModule.setParticleType(now.particleType);
+            changed++;
+        }
+        if (old == null || old.particleCount != now.particleCount) {
+            LaminarVisualsModule.setParticleCount(now.particleCount);
+            changed++;
+        }
+        if (old == null || old.particleSize != now.particleSize) {
+            LaminarVisualsModule.setParticleSize(now.particleSize);
+            changed++;
+        }
+        if (old == null || old.particleCap != now.particleCap) {
+            LaminarVisualsModule.setParticleCap(now.particleCap);
+            changed++;
+        }
+        if (old == null || old.parallelThreshold != now.parallelThreshold) {
+            LaminarVisualsModule.setParallelThreshold(now.parallelThreshold);
+            changed++;
+        }
+        if (old == null || old.cullDistance != now.cullDistance) {
+            LaminarVisualsModule.setCullDistance(now.cullDistance);
+            changed++;
+        }
+        if (old == null || old.freezeCulled != now.freezeCulled) {
+            LaminarVisualsModule.setFreezeCulled(now.freezeCulled);
+            changed++;
+        }
+        if (old == null || old.lodEnabled != now.lodEnabled) {
+            LaminarVisualsModule.setLodEnabled(now.lodEnabled);
+            changed++;
+        }
+        if (old == null || old.lodFullDetailPixels != now.lodFullDetailPixels
+                || old.lodImpostorPixels != now.lodImpostorPixels || old.lodCullPixels != now.lodCullPixels) {
+            LaminarVisualsModule.setLodThresholds(now.lodFullDetailPixels, now.lodImpostorPixels, now.lodCullPixels);
+            changed++;
+        }
+        if (old == null || !Objects.equals(old.trailType, now.trailType)) {
+            LaminarVisualsModule.setTrailType(now.trailType);
+            changed++;
+        }
+        // Grading changes rebake the color LUT
+        if (old == null || !Objects.equals(old.colorGrading, now.colorGrading)) {
+            LaminarVisualsModule.setColorGradingType(now.colorGrading);
+            changed++;
+        }
+        if (old == null || !Objects.equals(old.colorGradingBlendType, now.colorGradingBlendType)
+                || old.colorGradingBlend != now.colorGradingBlend) {
+            LaminarVisualsModule.setColorGradingBlend(now.colorGradingBlendType, now.colorGradingBlend);
+            changed++;
+        }
+        if (old == null || old.trailSampleCap != now.trailSampleCap) {
+            LaminarVisualsModule.setTrailSampleCap(now.trailSampleCap);
+            changed++;
+        }
+        if (old == null || old.trailStationaryTicks != now.trailStationaryTicks) {
+            LaminarVisualsModule.setTrailStationaryTicks(now.trailStationaryTicks);
+            changed++;
+        }
+        if (old == null || old.trailEvictDistance != now.trailEvictDistance) {
+            LaminarVisualsModule.setTrailEvictDistance(now.trailEvictDistance);
+            changed++;
+        }
+        return changed;
+    }
+
+    private static int applyOpka(ModConfig.OpkaConfig old, ModConfig.OpkaConfig now) {
+        int changed = 0;
+        if (old == null || old.hitMarker != now.hitMarker) {
+            OpkaVisualsModule.setHitMarkerEnabled(now.hitMarker);
+            changed++;
+        }
+        if (old == null || !Objects.equals(old.crosshairType, now.crosshairType)) {
+            OpkaVisualsModule.setCrosshairType(now.crosshairType);
+            changed++;
+        }
+        if (old == null || old.crosshairSize != now.crosshairSize) {
+            OpkaVisualsModule.setCrosshairSize(now.crosshairSize);
+            changed++;
+        }
+        return changed;
+    }
+
+    private static int applyTopka(ModConfig.TopkaConfig old, ModConfig.TopkaConfig now) {
+        int changed = 0;
+        if (old == null || old.showCombo != now.showCombo) {
+            TopkaVisualsModule.setShowCombo(now.showCombo);
+            changed++;
+        }
+        if (old == null || old.showTarget != now.showTarget) {
+            TopkaVisualsModule.setShowTargetHud(now.showTarget);
+            changed++;
+        }
+        if (old == null || old.hudScale != now.hudScale) {
+            TopkaVisualsModule.setHudScale(now.hudScale);
+            changed++;
+        }
+        if (old == null || old.speedUpdateRate != now.speedUpdateRate) {
+            TopkaVisualsModule.setSpeedUpdateRate(now.speedUpdateRate);
+            changed++;
+        }
+        return changed;
+    }
+
+    private static int applyGovernor(ModConfig.GovernorConfig old, ModConfig.GovernorConfig now, FrameScheduler scheduler) {
+        int changed = 0;
+        if (old == null || old.enabled != now.enabled) {
+            scheduler.getGovernor().setEnabled(now.enabled);
+            changed++;
+        }
+        if (old == null || old.frameBudgetMs != now.frameBudgetMs) {
+            scheduler.getGovernor().setFrameBudget(now.frameBudgetMs);
+            changed++;
+        }
+        return changed;
+    }
+
+    private static int applyProfiler(ModConfig.ProfilerConfig old, ModConfig.ProfilerConfig now,
+                                     FrameScheduler scheduler, ProfilerOverlay overlay) {
+        int changed = 0;
+        if (old == null || old.enabled != now.enabled) {
+            scheduler.getProfiler().setEnabled(now.enabled);
+            changed++;
+        }
+        if (overlay != null && (old == null || old.showOverlay != now.showOverlay)) {
+            overlay.setShown(now.showOverlay);
+            changed++;
+        }
+        return changed;
+    }
+}
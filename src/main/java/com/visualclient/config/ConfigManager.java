@@ -2,52 +2,279 @@ package com.visualclient.config;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import com.google.gson.JsonParseException;
+import com.visualclient.VisualClientMod;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages configuration loading and saving for VisualClient.
  * Handles JSON serialization and file I/O.
+ * Saves are debounced and written on a background thread to a temp file that is then
+ * atomically moved over config.json, so a crash never leaves a truncated config.
+ * Edits made to the file while the game runs can be picked up by {@link #startWatching}.
  */
 public class ConfigManager {
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final String CONFIG_DIR = "config/visualclient";
     private static final String CONFIG_FILE = "config.json";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String PRESET_FILE = "presets.vcpa";
+    private static final long DEBOUNCE_MILLIS = 500;
+    private static final long RELOAD_SETTLE_MILLIS = 150;
     
-    private ModConfig config;
+    /**
+     * Receives the live config and its replacement after a reload, on the apply executor
+     */
+    @FunctionalInterface
+    public interface ReloadListener {
+        void onReload(ModConfig previous, ModConfig next);
+    }
+    
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "VisualClient-Config");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Object saveLock = new Object();
+    
+    private volatile ModConfig config;
+    // Last JSON read or written by us, so our own saves do not trigger a reload
+    private volatile String lastSeenJson;
+    private Thread watcher;
+    private PresetArchive presets;
+    private ScheduledFuture<?> pendingSave;
+    // Newest snapshot not yet on disk, null when the file is up to date
+    private String pendingJson;
+    private long requestedSaves = 0;
+    private long completedSaves = 0;
+    private long failedSaves = 0;
+    private volatile long lastSaveNanos = 0;
+    private volatile long maxSaveNanos = 0;
     
     public ConfigManager() {
         loadConfig();
     }
     
     /**
-     * Loads configuration from file, or creates default if not exists
+     * Loads configuration from file, or creates default if not exists.
+     * An unreadable or corrupt file is kept aside as config.json.corrupt-&lt;time&gt;
+     * instead of being silently overwritten with defaults.
      */
     public void loadConfig() {
-        File file = getConfigFile();
-        if (file.exists()) {
-            try (FileReader reader = new FileReader(file)) {
-                config = GSON.fromJson(reader, ModConfig.class);
-            } catch (IOException e) {
-                createDefaultConfig();
+        Path file = getConfigFile();
+        if (!Files.exists(file)) {
+            createDefaultConfig();
+            return;
+        }
+        
+        try {
+            String json = Files.readString(file, StandardCharsets.UTF_8);
+            config = parse(json);
+            lastSeenJson = json;
+        } catch (IOException | JsonParseException e) {
+            Path backup = file.resolveSibling(CONFIG_FILE + ".corrupt-" + System.currentTimeMillis());
+            VisualClientMod.LOGGER.error("Could not read {}, keeping it as {} and using defaults", file, backup.getFileName(), e);
+            try {
+                Files.move(file, backup, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException moveError) {
+                VisualClientMod.LOGGER.error("Could not back up {}", file, moveError);
             }
-        } else {
             createDefaultConfig();
         }
     }
     
+    private static ModConfig parse(String json) {
+        ModConfig parsed = GSON.fromJson(json, ModConfig.class);
+        if (parsed == null) {
+            throw new JsonParseException("empty config file");
+        }
+        return parsed;
+    }
+    
     /**
-     * Saves current configuration to file
+     * Watch config.json on a background thread and reload it when it changes on disk.
+     * The new config is swapped in and handed to the listener on applyExecutor,
+     * normally the client thread. A file that fails to parse is ignored until fixed.
      */
-    public void saveConfig() {
-        File file = getConfigFile();
-        try (FileWriter writer = new FileWriter(file)) {
-            GSON.toJson(config, writer);
+    public synchronized void startWatching(Executor applyExecutor, ReloadListener listener) {
+        if (watcher != null) return;
+        
+        Path dir = getConfigFile().getParent();
+        watcher = new Thread(() -> watch(dir, applyExecutor, listener), "VisualClient-ConfigWatch");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+    
+    public synchronized void stopWatching() {
+        if (watcher == null) return;
+        watcher.interrupt();
+        watcher = null;
+    }
+    
+    private void watch(Path dir, Executor applyExecutor, ReloadListener listener) {
+        try (WatchService service = FileSystems.getDefault().newWatchService()) {
+            dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = service.take();
+                boolean touched = drain(key);
+                if (!key.reset()) break;
+                if (!touched) continue;
+                
+                // Editors often save in several writes; wait until the directory is quiet
+                WatchKey more;
+                while ((more = service.poll(RELOAD_SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    drain(more);
+                    if (!more.reset()) return;
+                }
+                reload(applyExecutor, listener);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (IOException e) {
-            e.printStackTrace();
+            VisualClientMod.LOGGER.error("Config hot reload stopped", e);
+        }
+    }
+    
+    /**
+     * Consume the events of a key; return whether any of them may concern config.json
+     */
+    private static boolean drain(WatchKey key) {
+        boolean touched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || CONFIG_FILE.equals(String.valueOf(event.context()))) {
+                touched = true;
+            }
+        }
+        return touched;
+    }
+    
+    private void reload(Executor applyExecutor, ReloadListener listener) {
+        Path file = getConfigFile();
+        String json;
+        ModConfig next;
+        try {
+            json = Files.readString(file, StandardCharsets.UTF_8);
+            if (json.equals(lastSeenJson)) return;
+            next = parse(json);
+        } catch (IOException | JsonParseException e) {
+            // Most likely a half-finished edit; the next save will trigger another attempt
+            VisualClientMod.LOGGER.warn("Ignoring unreadable {}: {}", file, e.getMessage());
+            return;
+        }
+        lastSeenJson = json;
+        
+        applyExecutor.execute(() -> {
+            // A queued save holds an older snapshot and would overwrite the edit just read
+            synchronized (saveLock) {
+                if (pendingSave != null) {
+                    pendingSave.cancel(false);
+                    pendingSave = null;
+                }
+                pendingJson = null;
+            }
+            ModConfig previous = config;
+            config = next;
+            listener.onReload(previous, next);
+        });
+    }
+    
+    /**
+     * Snapshot the config and schedule a write for DEBOUNCE_MILLIS after the last call.
+     * Serialization happens here, on the thread that changed the config, so the writer
+     * never sees a half-updated ModConfig; the file I/O happens off this thread.
+     */
+    public void saveConfig() {
+        String json = GSON.toJson(config);
+        synchronized (saveLock) {
+            requestedSaves++;
+            pendingJson = json;
+            // Restart the window; a write already in progress is unaffected and the
+            // rescheduled one picks up this snapshot after it
+            if (pendingSave != null) {
+                pendingSave.cancel(false);
+            }
+            pendingSave = writer.schedule(this::writePending, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Write any pending snapshot immediately on the calling thread; call on shutdown
+     */
+    public void flush() {
+        synchronized (saveLock) {
+            if (pendingSave != null) {
+                pendingSave.cancel(false);
+                pendingSave = null;
+            }
+        }
+        writePending();
+    }
+    
+    /**
+     * Write the newest pending snapshot, if any. The snapshot is taken while holding the
+     * write lock, so concurrent writers always finish with the latest one on disk.
+     */
+    private void writePending() {
+        synchronized (this) {
+            String json;
+            synchronized (saveLock) {
+                json = pendingJson;
+                pendingJson = null;
+            }
+            if (json != null) {
+                write(json);
+            }
+        }
+    }
+    
+    /**
+     * Write to a temp file next to config.json, then atomically replace it
+     */
+    private void write(String json) {
+        long start = System.nanoTime();
+        Path file = getConfigFile();
+        Path temp = file.resolveSibling(CONFIG_FILE + TEMP_SUFFIX);
+        
+        synchronized (this) {
+            try {
+                try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    out.write(json);
+                }
+                lastSeenJson = json;
+                try {
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+                completedSaves++;
+            } catch (IOException e) {
+                failedSaves++;
+                VisualClientMod.LOGGER.error("Failed to save {}", file, e);
+            }
         }
+        
+        long elapsed = System.nanoTime() - start;
+        lastSaveNanos = elapsed;
+        maxSaveNanos = Math.max(maxSaveNanos, elapsed);
     }
     
     private void createDefaultConfig() {
@@ -55,15 +282,81 @@ public class ConfigManager {
         saveConfig();
     }
     
-    private File getConfigFile() {
-        File dir = new File(CONFIG_DIR);
-        if (!dir.exists()) {
-            dir.mkdirs();
+    private Path getConfigFile() {
+        Path dir = Paths.get(CONFIG_DIR);
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            VisualClientMod.LOGGER.error("Could not create {}", dir, e);
         }
-        return new File(dir, CONFIG_FILE);
+        return dir.resolve(CONFIG_FILE);
     }
     
     public ModConfig getConfig() {
         return config;
     }
+    
+    /**
+     * Preset archive next to config.json, opened on first use
+     */
+    public synchronized PresetArchive getPresets() {
+        if (presets == null) {
+            presets = new PresetArchive(getConfigFile().resolveSibling(PRESET_FILE));
+            try {
+                presets.open();
+            } catch (IOException e) {
+                VisualClientMod.LOGGER.error("Could not open preset archive", e);
+            }
+        }
+        return presets;
+    }
+    
+    /**
+     * Store the live config as a named preset
+     */
+    public void saveAsPreset(String name) throws IOException {
+        getPresets().save(name, config);
+    }
+    
+    /**
+     * Make a preset the live config and schedule a save. Returns the config it replaced,
+     * for {@link ConfigApplier}, or null if there is no such preset. Call on the client thread.
+     */
+    public ModConfig switchToPreset(String name) throws IOException {
+        ModConfig next = new ModConfig();
+        if (!getPresets().load(name, next)) return null;
+        
+        ModConfig previous = config;
+        config = next;
+        saveConfig();
+        return previous;
+    }
+    
+    /**
+     * Save statistics: requests vs. actual writes shows how much debouncing saved
+     */
+    public long getRequestedSaveCount() {
+        synchronized (saveLock) {
+            return requestedSaves;
+        }
+    }
+    
+    public synchronized long getCompletedSaveCount() {
+        return completedSaves;
+    }
+    
+    public synchronized long getFailedSaveCount() {
+        return failedSaves;
+    }
+    
+    /**
+     * Duration of the last file write (serialization happens in saveConfig)
+     */
+    public long getLastSaveNanos() {
+        return lastSaveNanos;
+    }
+    
+    public long getMaxSaveNanos() {
+        return maxSaveNanos;
+    }
 }
@@ -17,6 +17,12 @@ public class ModConfig {
     // TopkaVisuals settings
     public TopkaConfig topka = new TopkaConfig();
     
+    // Adaptive quality settings
+    public GovernorConfig governor = new GovernorConfig();
+    
+    // Frame profiler settings
+    public ProfilerConfig profiler = new ProfilerConfig();
+    
     public static class PulseConfig {
         public boolean enabled = true;
         public float intensity = 1.0f;
@@ -29,7 +35,23 @@ public class ModConfig {
         public String particleType = "HEART";
         public int particleCount = 8;
         public float particleSize = 0.5f;
+        // Parallel updates only run once the live population reaches parallelThreshold,
+        // so the threshold must stay below particleCap to have any effect
+        public int particleCap = 32768;
+        public int parallelThreshold = 20000;
+        public float cullDistance = 96f;
+        public boolean freezeCulled = false;
+        public boolean lodEnabled = true;
+        public float lodFullDetailPixels = 48f;
+        public float lodImpostorPixels = 12f;
+        public float lodCullPixels = 2f;
         public String trailType = "LINEAR";
+        public String colorGrading = "NORMAL";
+        public String colorGradingBlendType = "NORMAL";
+        public float colorGradingBlend = 0f;
+        public int trailSampleCap = 4096;
+        public int trailStationaryTicks = 60;
+        public float trailEvictDistance = 128f;
     }
     
     public static class OpkaConfig {
@@ -44,5 +66,16 @@ public class ModConfig {
         public boolean showCombo = true;
         public boolean showTarget = true;
         public float hudScale = 1.0f;
+        public float speedUpdateRate = 10f;
+    }
+    
+    public static class GovernorConfig {
+        public boolean enabled = true;
+        public float frameBudgetMs = 2.0f;  // mod work per frame, not total frame time
+    }
+    
+    public static class ProfilerConfig {
+        public boolean enabled = false;
+        public boolean showOverlay = true;
     }
 }
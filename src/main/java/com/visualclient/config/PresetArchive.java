@@ -0,0 +1,214 @@
+package com.visualclient.config;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All presets in one file: a header, an index of names with record offsets, then
+ * the {@link PresetCodec} records. The file is memory-mapped and the index kept in
+ * a hash map, so loading a preset is one lookup plus a field copy.
+ *
+ * Layout: magic, archive version, preset count, then per preset a UTF-8 name
+ * (length byte + bytes), record offset and record length, then the records.
+ * Changes rewrite the whole archive through a temp file and an atomic move.
+ */
+public class PresetArchive {
+    private static final int MAGIC = 0x56435041;  // "VCPA"
+    private static final int ARCHIVE_VERSION = 1;
+    private static final int MAX_NAME_BYTES = 64;
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Path file;
+    // Name -> offset << 32 | length, in archive order
+    private final Map<String, Long> index = new LinkedHashMap<>();
+    private MappedByteBuffer mapped;
+
+    public PresetArchive(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Map the archive and read its index; a missing file is an empty archive
+     */
+    public synchronized void open() throws IOException {
+        index.clear();
+        mapped = null;
+        if (!Files.exists(file)) return;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            readIndex(mapped.duplicate());
+        } catch (RuntimeException e) {
+            index.clear();
+            mapped = null;
+            throw new IOException("Corrupt preset archive " + file, e);
+        }
+    }
+
+    private void readIndex(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a preset archive: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != ARCHIVE_VERSION) {
+            throw new IOException("Unsupported preset archive version " + version);
+        }
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[buffer.get() & 0xFF];
+            buffer.get(name);
+            int offset = buffer.getInt();
+            int length = buffer.getInt();
+            if (offset < 0 || length < 0 || (long) offset + length > buffer.capacity()) {
+                throw new IOException("Preset record out of bounds in " + file);
+            }
+            index.put(new String(name, StandardCharsets.UTF_8), ((long) offset << 32) | length);
+        }
+    }
+
+    /**
+     * Copy a preset into target; returns false if there is no preset with that name
+     */
+    public synchronized boolean load(String name, ModConfig target) throws IOException {
+        Long entry = index.get(name);
+        if (entry == null) return false;
+
+        long packed = entry;
+        int offset = (int) (packed >>> 32);
+        ByteBuffer record = mapped.duplicate();
+        record.limit(offset + (int) packed);
+        record.position(offset);
+        PresetCodec.decode(record, target);
+        return true;
+    }
+
+    public synchronized boolean contains(String name) {
+        return index.containsKey(name);
+    }
+
+    public synchronized List<String> getNames() {
+        return new ArrayList<>(index.keySet());
+    }
+
+    /**
+     * Add or replace a preset and rewrite the archive
+     */
+    public synchronized void save(String name, ModConfig config) throws IOException {
+        if (name.getBytes(StandardCharsets.UTF_8).length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Preset name longer than " + MAX_NAME_BYTES + " bytes: " + name);
+        }
+        Map<String, byte[]> records = readRecords();
+        records.put(name, PresetCodec.encode(config));
+        write(records);
+    }
+
+    public synchronized boolean remove(String name) throws IOException {
+        if (!index.containsKey(name)) return false;
+        Map<String, byte[]> records = readRecords();
+        records.remove(name);
+        write(records);
+        return true;
+    }
+
+    /**
+     * Store a JSON config file (e.g. a shared config.json) as a preset
+     */
+    public void importJson(String name, Path json) throws IOException {
+        ModConfig config;
+        try {
+            config = GSON.fromJson(Files.readString(json, StandardCharsets.UTF_8), ModConfig.class);
+        } catch (JsonParseException e) {
+            throw new IOException("Invalid config JSON " + json, e);
+        }
+        if (config == null) {
+            throw new IOException("Empty config JSON " + json);
+        }
+        save(name, config);
+    }
+
+    /**
+     * Write a preset out in the config.json format; returns false if it does not exist
+     */
+    public boolean exportJson(String name, Path json) throws IOException {
+        ModConfig config = new ModConfig();
+        if (!load(name, config)) return false;
+        Files.writeString(json, GSON.toJson(config), StandardCharsets.UTF_8);
+        return true;
+    }
+
+    private Map<String, byte[]> readRecords() {
+        Map<String, byte[]> records = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : index.entrySet()) {
+            long packed = entry.getValue();
+            byte[] record = new byte[(int) packed];
+            mapped.get((int) (packed >>> 32), record);
+            records.put(entry.getKey(), record);
+        }
+        return records;
+    }
+
+    private void write(Map<String, byte[]> records) throws IOException {
+        int indexBytes = 12;
+        int dataBytes = 0;
+        for (Map.Entry<String, byte[]> entry : records.entrySet()) {
+            indexBytes += 1 + entry.getKey().getBytes(StandardCharsets.UTF_8).length + 8;
+            dataBytes += entry.getValue().length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(indexBytes + dataBytes);
+        buffer.putInt(MAGIC);
+        buffer.putInt(ARCHIVE_VERSION);
+        buffer.putInt(records.size());
+        int offset = indexBytes;
+        for (Map.Entry<String, byte[]> entry : records.entrySet()) {
+            byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            buffer.put((byte) name.length);
+            buffer.put(name);
+            buffer.putInt(offset);
+            buffer.putInt(entry.getValue().length);
+            offset += entry.getValue().length;
+        }
+        for (byte[] record : records.values()) {
+            buffer.put(record);
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, buffer.array());
+        // Drop our mapping first; some platforms refuse to replace a mapped file
+        mapped = null;
+        try {
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            // Remap whichever archive is now on disk
+            open();
+        }
+    }
+
+    /**
+     * Size of the archive file in bytes, for monitoring
+     */
+    public synchronized int getSizeBytes() {
+        return mapped != null ? mapped.capacity() : 0;
+    }
+}
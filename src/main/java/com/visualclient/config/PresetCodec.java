@@ -0,0 +1,194 @@
+package com.visualclient.config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary form of a ModConfig, used for presets.
+ * A record is a format version, the payload length and the fields in a fixed order,
+ * so decoding is a straight field copy with no reflection.
+ * New fields must only ever be appended, with a new version number.
+ */
+public final class PresetCodec {
+    public static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 4;
+    private static final int MAX_STRING_BYTES = 255;
+
+    private PresetCodec() {
+    }
+
+    /**
+     * Encode a config into a standalone record
+     */
+    public static byte[] encode(ModConfig config) {
+        // Fixed fields plus five strings of at most 255 bytes each
+        ByteBuffer buffer = ByteBuffer.allocate(2048);
+        buffer.position(HEADER_BYTES);
+
+        ModConfig.PulseConfig pulse = config.pulse;
+        putBoolean(buffer, pulse.enabled);
+        buffer.putFloat(pulse.intensity);
+        buffer.putInt(pulse.duration);
+        buffer.putInt(pulse.updateRate);
+
+        ModConfig.LaminarConfig laminar = config.laminar;
+        putBoolean(buffer, laminar.enabled);
+        putString(buffer, laminar.particleType);
+        buffer.putInt(laminar.particleCount);
+        buffer.putFloat(laminar.particleSize);
+        buffer.putInt(laminar.particleCap);
+        buffer.putInt(laminar.parallelThreshold);
+        buffer.putFloat(laminar.cullDistance);
+        putBoolean(buffer, laminar.freezeCulled);
+        putBoolean(buffer, laminar.lodEnabled);
+        buffer.putFloat(laminar.lodFullDetailPixels);
+        buffer.putFloat(laminar.lodImpostorPixels);
+        buffer.putFloat(laminar.lodCullPixels);
+        putString(buffer, laminar.trailType);
+        putString(buffer, laminar.colorGrading);
+        putString(buffer, laminar.colorGradingBlendType);
+        buffer.putFloat(laminar.colorGradingBlend);
+        buffer.putInt(laminar.trailSampleCap);
+        buffer.putInt(laminar.trailStationaryTicks);
+        buffer.putFloat(laminar.trailEvictDistance);
+
+        ModConfig.OpkaConfig opka = config.opka;
+        putBoolean(buffer, opka.enabled);
+        putBoolean(buffer, opka.hitMarker);
+        putString(buffer, opka.crosshairType);
+        buffer.putFloat(opka.crosshairSize);
+
+        ModConfig.TopkaConfig topka = config.topka;
+        putBoolean(buffer, topka.enabled);
+        putBoolean(buffer, topka.showCombo);
+        putBoolean(buffer, topka.showTarget);
+        buffer.putFloat(topka.hudScale);
+        buffer.putFloat(topka.speedUpdateRate);
+
+        putBoolean(buffer, config.governor.enabled);
+        buffer.putFloat(config.governor.frameBudgetMs);
+
+        putBoolean(buffer, config.profiler.enabled);
+        putBoolean(buffer, config.profiler.showOverlay);
+
+        int length = buffer.position();
+        buffer.putShort(0, (short) VERSION);
+        buffer.putShort(2, (short) (length - HEADER_BYTES));
+
+        byte[] record = new byte[length];
+        buffer.get(0, record);
+        return record;
+    }
+
+    /**
+     * Decode the record at the buffer's position into target, leaving the position after it.
+     * Records written by a newer version are rejected rather than partially applied.
+     */
+    public static void decode(ByteBuffer buffer, ModConfig target) throws IOException {
+        int version = buffer.getShort();
+        int length = buffer.getShort() & 0xFFFF;
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported preset version " + version);
+        }
+        if (buffer.remaining() < length) {
+            throw new IOException("Truncated preset record");
+        }
+        int end = buffer.position() + length;
+
+        try {
+            ModConfig.PulseConfig pulse = target.pulse;
+            pulse.enabled = getBoolean(buffer);
+            pulse.intensity = buffer.getFloat();
+            pulse.duration = buffer.getInt();
+            pulse.updateRate = buffer.getInt();
+
+            ModConfig.LaminarConfig laminar = target.laminar;
+            laminar.enabled = getBoolean(buffer);
+            laminar.particleType = getString(buffer, laminar.particleType);
+            laminar.particleCount = buffer.getInt();
+            laminar.particleSize = buffer.getFloat();
+            laminar.particleCap = buffer.getInt();
+            laminar.parallelThreshold = buffer.getInt();
+            laminar.cullDistance = buffer.getFloat();
+            laminar.freezeCulled = getBoolean(buffer);
+            laminar.lodEnabled = getBoolean(buffer);
+            laminar.lodFullDetailPixels = buffer.getFloat();
+            laminar.lodImpostorPixels = buffer.getFloat();
+            laminar.lodCullPixels = buffer.getFloat();
+            laminar.trailType = getString(buffer, laminar.trailType);
+            laminar.colorGrading = getString(buffer, laminar.colorGrading);
+            laminar.colorGradingBlendType = getString(buffer, laminar.colorGradingBlendType);
+            laminar.colorGradingBlend = buffer.getFloat();
+            laminar.trailSampleCap = buffer.getInt();
+            laminar.trailStationaryTicks = buffer.getInt();
+            laminar.trailEvictDistance = buffer.getFloat();
+
+            ModConfig.OpkaConfig opka = target.opka;
+            opka.enabled = getBoolean(buffer);
+            opka.hitMarker = getBoolean(buffer);
+            opka.crosshairType = getString(buffer, opka.crosshairType);
+            opka.crosshairSize = buffer.getFloat();
+
+            ModConfig.TopkaConfig topka = target.topka;
+            topka.enabled = getBoolean(buffer);
+            topka.showCombo = getBoolean(buffer);
+            topka.showTarget = getBoolean(buffer);
+            topka.hudScale = buffer.getFloat();
+            topka.speedUpdateRate = buffer.getFloat();
+
+            target.governor.enabled = getBoolean(buffer);
+            target.governor.frameBudgetMs = buffer.getFloat();
+
+            target.profiler.enabled = getBoolean(buffer);
+            target.profiler.showOverlay = getBoolean(buffer);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt preset record", e);
+        }
+
+        if (buffer.position() > end) {
+            throw new IOException("Corrupt preset record");
+        }
+        buffer.position(end);
+    }
+
+    private static void putBoolean(ByteBuffer buffer, boolean value) {
+        buffer.put((byte) (value ? 1 : 0));
+    }
+
+    private static boolean getBoolean(ByteBuffer buffer) {
+        return buffer.get() != 0;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_STRING_BYTES);
+        buffer.put((byte) length);
+        buffer.put(bytes, 0, length);
+    }
+
+    /**
+     * Read a string, reusing the current value when the bytes match so
+     * switching presets does not allocate for unchanged enum-like names
+     */
+    private static String getString(ByteBuffer buffer, String current) {
+        int length = buffer.get() & 0xFF;
+        if (current != null && current.length() == length && matchesAscii(buffer, current)) {
+            buffer.position(buffer.position() + length);
+            return current;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean matchesAscii(ByteBuffer buffer, String value) {
+        int start = buffer.position();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80 || buffer.get(start + i) != (byte) c) return false;
+        }
+        return true;
+    }
+}
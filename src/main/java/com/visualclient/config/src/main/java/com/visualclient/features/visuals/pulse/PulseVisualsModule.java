@@ -1,47 +1,63 @@
 package com.visualclient.features.visuals.pulse;
 
-import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
-import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
-import net.minecraft.client.MinecraftClient;
-import net.minecraft.util.math.MathHelper;
+import com.visualclient.core.Animator;
+import com.visualclient.core.Easing;
+import com.visualclient.core.FrameScheduler;
+import com.visualclient.core.VisualModule;
+import com.visualclient.render.DrawSink;
+import com.visualclient.render.HudLayer;
+import com.visualclient.render.HudWidget;
 
 /**
  * PulseVisuals Module - Screen pulse effects, HUD pulsing, and screen shake
  */
-public class PulseVisualsModule {
+public class PulseVisualsModule implements VisualModule {
     private static boolean enabled = true;
-    private static float screenPulseAlpha = 0f;
-    private static int screenPulseTimer = 0;
-    private static float screenShakeIntensity = 0f;
-    private static int screenShakeTimer = 0;
     private static float damageIntensity = 1.0f;
     private static int effectDuration = 300;
     private static boolean hudPulseEnabled = true;
     private static boolean screenShakeEnabled = true;
-    private static float hudScaleFactor = 1.0f;
     
-    public PulseVisualsModule() {
-        // Register event listeners
-        registerEventListeners();
+    private static final float HUD_PULSE_SCALE = 1.15f;  // Scale factor for health bar, hotbar
+    private static final float HUD_PULSE_TICKS = 30f;
+    
+    // Pulse alpha, HUD scale and shake strength are tweens advanced by the shared animator
+    private static Animator animator;
+    private static int pulseAlphaSlot;
+    private static int hudScaleSlot;
+    private static int shakeSlot;
+    
+    public PulseVisualsModule(FrameScheduler scheduler) {
+        // Register scheduled tasks
+        registerTasks(scheduler);
     }
     
-    private void registerEventListeners() {
-        // Register screen render event for pulse overlay
-        HudRenderCallback.EVENT.register((matrices, tickDelta) -> {
-            if (enabled && screenPulseAlpha > 0) {
-                renderScreenPulse(matrices, tickDelta);
-            }
-        });
+    private void registerTasks(FrameScheduler scheduler) {
+        // The pulse overlay changes every tick, so it is drawn immediately, not cached
+        HudLayer.addImmediate("pulse", new ScreenPulseWidget());
         
-        // Register tick event for animation updates
-        ClientTickEvents.END_CLIENT_TICK.register(client -> onClientTick());
+        animator = scheduler.getAnimator();
+        pulseAlphaSlot = animator.allocate();
+        hudScaleSlot = animator.allocate();
+        shakeSlot = animator.allocate();
+        animator.set(hudScaleSlot, 1.0f);
+    }
+    
+    @Override
+    public void enable() {
+        setEnabled(true);
+    }
+    
+    @Override
+    public void disable() {
+        setEnabled(false);
     }
     
     /**
      * Called when the player takes damage
      */
     public static void onDamageTaken(float damage) {
-        if (!enabled) return;
+        if (!enabled || animator == null) return;
         
         // Trigger screen pulse
         startScreenPulse(damageIntensity, effectDuration);
@@ -61,69 +77,38 @@ public class PulseVisualsModule {
      * Start screen pulse effect with configurable intensity and duration
      */
     public static void startScreenPulse(float intensity, int duration) {
-        screenPulseAlpha = Math.min(1.0f, intensity);
-        screenPulseTimer = duration;
+        animator.play(pulseAlphaSlot, Math.min(1.0f, intensity), 0f, duration, Easing.LINEAR);
     }
     
     /**
      * Start HUD elements pulsing animation
      */
     public static void startHudPulse() {
-        hudScaleFactor = 1.15f;  // Scale factor for health bar, hotbar
+        animator.play(hudScaleSlot, HUD_PULSE_SCALE, 1.0f, HUD_PULSE_TICKS, Easing.EXPO_OUT);
     }
     
     /**
      * Start screen shake effect based on damage amount
      */
     public static void startScreenShake(float damageAmount) {
-        screenShakeIntensity = Math.min(5.0f, damageAmount * 0.5f);
-        screenShakeTimer = (int) (damageAmount * 20);
-    }
-    
-    /**
-     * Update animations each game tick
-     */
-    private static void onClientTick() {
-        if (!enabled) return;
-        
-        // Update screen pulse
-        if (screenPulseTimer > 0) {
-            screenPulseTimer--;
-            screenPulseAlpha = (float) screenPulseTimer / effectDuration;
-        } else {
-            screenPulseAlpha = 0f;
-        }
-        
-        // Update HUD pulse
-        if (hudScaleFactor > 1.0f) {
-            hudScaleFactor = MathHelper.lerp(0.1f, hudScaleFactor, 1.0f);
-        }
-        
-        // Update screen shake
-        if (screenShakeTimer > 0) {
-            screenShakeTimer--;
-        } else {
-            screenShakeIntensity = 0f;
-        }
+        // Shake fades out over its duration instead of stopping abruptly
+        animator.play(shakeSlot, Math.min(5.0f, damageAmount * 0.5f), 0f, (int) (damageAmount * 20), Easing.QUAD_IN);
     }
     
     /**
      * Render the screen pulse overlay
      */
-    private static void renderScreenPulse(net.minecraft.client.gui.GuiGraphics matrices, float tickDelta) {
-        MinecraftClient client = MinecraftClient.getInstance();
-        int width = client.getWindow().getGuiScaledWidth();
-        int height = client.getWindow().getGuiScaledHeight();
-        
+    private static void renderScreenPulse(DrawSink sink, int width, int height) {
         // Draw semi-transparent overlay
-        int color = (int) (screenPulseAlpha * 255) << 24 | 0x000000;  // Black overlay
-        matrices.fill(0, 0, width, height, color);
+        int color = (int) (animator.getSmooth(pulseAlphaSlot) * 255) << 24 | 0x000000;  // Black overlay
+        sink.fill(0, 0, width, height, color);
     }
     
     /**
      * Get current screen shake offset
      */
     public static float getScreenShakeOffset() {
+        float screenShakeIntensity = animator != null ? animator.getSmooth(shakeSlot) : 0f;
         if (screenShakeIntensity <= 0) return 0f;
         return (float) (Math.random() - 0.5f) * screenShakeIntensity * 2;
     }
@@ -132,7 +117,7 @@ public class PulseVisualsModule {
      * Get HUD pulse scale factor
      */
     public static float getHudPulseScale() {
-        return hudScaleFactor;
+        return animator != null ? animator.getSmooth(hudScaleSlot) : 1.0f;
     }
     
     /**
@@ -140,11 +125,10 @@ public class PulseVisualsModule {
      */
     public static void setEnabled(boolean value) {
         enabled = value;
-        if (!enabled) {
-            screenPulseAlpha = 0f;
-            screenPulseTimer = 0;
-            screenShakeIntensity = 0f;
-            screenShakeTimer = 0;
+        if (!enabled && animator != null) {
+            animator.set(pulseAlphaSlot, 0f);
+            animator.set(shakeSlot, 0f);
+            animator.set(hudScaleSlot, 1.0f);
         }
     }
     
@@ -186,4 +170,41 @@ public class PulseVisualsModule {
     public static boolean isScreenShakeEnabled() {
         return screenShakeEnabled;
     }
+    
+    /**
+     * Full-screen pulse overlay
+     */
+    private static class ScreenPulseWidget implements HudWidget {
+        private int width;
+        private int height;
+        
+        @Override
+        public boolean update(int screenWidth, int screenHeight, DrawSink sink) {
+            width = screenWidth;
+            height = screenHeight;
+            return true;
+        }
+        
+        @Override
+        public boolean isVisible() {
+            return enabled && animator.getSmooth(pulseAlphaSlot) > 0;
+        }
+        
+        @Override
+        public int getX() { return 0; }
+        
+        @Override
+        public int getY() { return 0; }
+        
+        @Override
+        public int getWidth() { return width; }
+        
+        @Override
+        public int getHeight() { return height; }
+        
+        @Override
+        public void render(DrawSink sink) {
+            renderScreenPulse(sink, width, height);
+        }
+    }
 }
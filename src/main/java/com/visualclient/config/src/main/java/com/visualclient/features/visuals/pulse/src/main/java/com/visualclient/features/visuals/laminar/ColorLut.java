@@ -0,0 +1,207 @@
+package com.visualclient.features.visuals.laminar;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Baked 3D color lookup table for software color grading.
+ * A grading type, or a blend of two, is sampled once on a 17x17x17 lattice into a
+ * packed 0xRRGGBB int[] (about 19 KB); grading a pixel is then a trilinear lookup.
+ * The CPU path grades ARGB buffers and is the reference for any GPU implementation.
+ */
+public class ColorLut {
+    public static final int SIZE = 17;
+    private static final int MAX_INDEX = SIZE - 1;
+    private static final int MIN_CHUNK = 64 * 1024;
+
+    private final int[] table = new int[SIZE * SIZE * SIZE];
+    private String typeA = "NORMAL";
+    private String typeB = "NORMAL";
+    private float blend = 0f;
+    private long bakes = 0;
+
+    public ColorLut() {
+        bake("NORMAL", "NORMAL", 0f);
+    }
+
+    /**
+     * Bake the blend of two grading types (0 = all a, 1 = all b). Skips the work if unchanged.
+     */
+    public void bake(String a, String b, float t) {
+        t = Math.max(0f, Math.min(1f, t));
+        if (bakes > 0 && a.equals(typeA) && b.equals(typeB) && t == blend) return;
+        typeA = a;
+        typeB = b;
+        blend = t;
+        bakes++;
+
+        float[] outA = new float[3];
+        float[] outB = new float[3];
+        for (int bi = 0; bi < SIZE; bi++) {
+            for (int gi = 0; gi < SIZE; gi++) {
+                for (int ri = 0; ri < SIZE; ri++) {
+                    float r = ri / (float) MAX_INDEX, g = gi / (float) MAX_INDEX, bl = bi / (float) MAX_INDEX;
+                    grade(a, r, g, bl, outA);
+                    grade(b, r, g, bl, outB);
+                    int red = toByte(outA[0] + (outB[0] - outA[0]) * t);
+                    int green = toByte(outA[1] + (outB[1] - outA[1]) * t);
+                    int blue = toByte(outA[2] + (outB[2] - outA[2]) * t);
+                    table[index(ri, gi, bi)] = red << 16 | green << 8 | blue;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reference grading curves, only evaluated while baking
+     */
+    static void grade(String type, float r, float g, float b, float[] out) {
+        switch (type) {
+            case "WARM":
+                // Warm tone: increase red/yellow
+                out[0] = r * 1.08f + 0.03f;
+                out[1] = g * 1.02f + 0.01f;
+                out[2] = b * 0.88f;
+                break;
+            case "COOL":
+                // Cool tone: increase blue/cyan
+                out[0] = r * 0.9f;
+                out[1] = g * 1.0f + 0.01f;
+                out[2] = b * 1.1f + 0.03f;
+                break;
+            case "MONOCHROME":
+                // Grayscale effect (Rec. 709 luma)
+                float luma = 0.2126f * r + 0.7152f * g + 0.0722f * b;
+                out[0] = luma;
+                out[1] = luma;
+                out[2] = luma;
+                break;
+            default:
+                // Normal (no effect)
+                out[0] = r;
+                out[1] = g;
+                out[2] = b;
+                break;
+        }
+    }
+
+    private static int toByte(float value) {
+        return Math.round(Math.max(0f, Math.min(1f, value)) * 255f);
+    }
+
+    private static int index(int r, int g, int b) {
+        return (b * SIZE + g) * SIZE + r;
+    }
+
+    /**
+     * Grade one ARGB color; alpha is kept
+     */
+    public int apply(int argb) {
+        // Lattice coordinates in 8.8 fixed point
+        int rf = ((argb >>> 16) & 0xFF) * MAX_INDEX * 256 / 255;
+        int gf = ((argb >>> 8) & 0xFF) * MAX_INDEX * 256 / 255;
+        int bf = (argb & 0xFF) * MAX_INDEX * 256 / 255;
+        int r0 = Math.min(rf >> 8, MAX_INDEX - 1), g0 = Math.min(gf >> 8, MAX_INDEX - 1), b0 = Math.min(bf >> 8, MAX_INDEX - 1);
+        int fr = rf - (r0 << 8), fg = gf - (g0 << 8), fb = bf - (b0 << 8);
+
+        int i000 = index(r0, g0, b0);
+        int i100 = i000 + 1;
+        int i010 = i000 + SIZE;
+        int i110 = i010 + 1;
+        int i001 = i000 + SIZE * SIZE;
+        int i101 = i001 + 1;
+        int i011 = i001 + SIZE;
+        int i111 = i011 + 1;
+
+        int out = argb & 0xFF000000;
+        for (int shift = 16; shift >= 0; shift -= 8) {
+            int c00 = lerp(channel(i000, shift), channel(i100, shift), fr);
+            int c10 = lerp(channel(i010, shift), channel(i110, shift), fr);
+            int c01 = lerp(channel(i001, shift), channel(i101, shift), fr);
+            int c11 = lerp(channel(i011, shift), channel(i111, shift), fr);
+            int c0 = lerp(c00, c10, fg);
+            int c1 = lerp(c01, c11, fg);
+            out |= ((lerp(c0, c1, fb) + 128) >> 8) << shift;
+        }
+        return out;
+    }
+
+    // Channel value scaled by 256, so the three interpolation steps keep their precision
+    private int channel(int i, int shift) {
+        return ((table[i] >>> shift) & 0xFF) << 8;
+    }
+
+    private static int lerp(int a, int b, int f) {
+        return a + (((b - a) * f) >> 8);
+    }
+
+    /**
+     * Grade a range of an ARGB buffer in place
+     */
+    public void apply(int[] pixels, int from, int to) {
+        for (int i = from; i < to; i++) {
+            pixels[i] = apply(pixels[i]);
+        }
+    }
+
+    /**
+     * Grade a whole ARGB buffer in place on the Laminar worker pool
+     */
+    public void applyParallel(int[] pixels) {
+        applyParallel(pixels, Workers.POOL);
+    }
+
+    public void applyParallel(int[] pixels, ForkJoinPool pool) {
+        if (pixels.length <= MIN_CHUNK) {
+            apply(pixels, 0, pixels.length);
+            return;
+        }
+        int chunk = Math.max(MIN_CHUNK, pixels.length / (pool.getParallelism() * 4));
+        pool.invoke(new GradeTask(pixels, 0, pixels.length, chunk));
+    }
+
+    /**
+     * Whether grading would leave colors unchanged, so a post pass can be skipped
+     */
+    public boolean isIdentity() {
+        return (blend == 0f || typeB.equals("NORMAL")) && (blend == 1f || typeA.equals("NORMAL"));
+    }
+
+    /**
+     * Packed 0xRRGGBB entries, red fastest, for upload as a 3D texture
+     */
+    public int[] getTable() {
+        return table;
+    }
+
+    public long getBakeCount() {
+        return bakes;
+    }
+
+    /**
+     * Grades a run of pixels, splitting it in half until it is small enough
+     */
+    private class GradeTask extends RecursiveAction {
+        private final int[] pixels;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        GradeTask(int[] pixels, int from, int to, int chunk) {
+            this.pixels = pixels;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                apply(pixels, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new GradeTask(pixels, from, mid, chunk), new GradeTask(pixels, mid, to, chunk));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.visualclient.features.visuals.laminar;
+
+import java.util.Arrays;
+
+/**
+ * Age-bucketed timing wheel for FIFO containers whose entries all share one lifetime.
+ * Each bucket counts the entries born on a tick; advancing the wheel returns the whole
+ * bucket that just reached its lifetime, so a batch of entries is retired in O(1).
+ */
+public class ExpiryWheel {
+    private final int lifetime;
+    private final int[] buckets;
+    private int tick = 0;
+
+    public ExpiryWheel(int lifetime) {
+        this.lifetime = Math.max(1, lifetime);
+        this.buckets = new int[this.lifetime];
+    }
+
+    /**
+     * Record one entry born on the current tick, returning that tick
+     */
+    public int record() {
+        buckets[slot(tick)]++;
+        return tick;
+    }
+
+    /**
+     * Forget an entry that was dropped before expiring (e.g. overwritten)
+     */
+    public void forget(int birthTick) {
+        buckets[slot(birthTick)]--;
+    }
+
+    /**
+     * Advance one tick and return how many entries expired
+     */
+    public int advance() {
+        tick++;
+        int slot = slot(tick);
+        int expired = buckets[slot];
+        buckets[slot] = 0;
+        return expired;
+    }
+
+    public void clear() {
+        Arrays.fill(buckets, 0);
+    }
+
+    private int slot(int t) {
+        return Integer.remainderUnsigned(t, lifetime);
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public int getLifetime() {
+        return lifetime;
+    }
+}
@@ -1,133 +1,277 @@
 package com.visualclient.features.visuals.laminar;
 
-import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
-import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
-import net.minecraft.client.MinecraftClient;
+import com.visualclient.core.FrameContext;
+import com.visualclient.core.FrameScheduler;
+import com.visualclient.core.QualityTier;
+import com.visualclient.core.VisualModule;
+import com.visualclient.render.ViewCuller;
 import net.minecraft.util.math.Vec3d;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * LaminarVisuals Module - Custom particles, trails, and color effects
+ * LaminarVisuals Module - Custom particles, trails, and color effects.
+ * The particle pool, trail registry and grading LUT are only allocated in
+ * {@link #warmUp}, so a disabled Laminar costs no memory.
  */
-public class LaminarVisualsModule {
+public class LaminarVisualsModule implements VisualModule {
     private static boolean enabled = true;
     private static String particleType = "HEART";
     private static int particleCount = 8;
     private static float particleSize = 0.5f;
     private static String trailType = "LINEAR";
     private static boolean trailsEnabled = true;
-    private static String colorGradingType = "NORMAL";
-    private static float fogDensity = 0f;
+    private static int particleCap = ParticlePool.DEFAULT_CAPACITY;
+    private static float cullDistance = 96f;
+    private static boolean freezeCulled = false;
+    private static int parallelThreshold = ParticlePool.DEFAULT_PARALLEL_THRESHOLD;
+    private static int trailSampleCap = TrailRegistry.DEFAULT_SAMPLE_CAP;
+    private static int trailStationaryTicks = TrailRegistry.DEFAULT_STATIONARY_TICKS;
+    private static float trailEvictDistance = TrailRegistry.DEFAULT_EVICT_DISTANCE;
     
-    private static final List<Particle> particles = new ArrayList<>();
-    private static final List<TrailPoint> trails = new ArrayList<>();
+    private static final int PARTICLE_LIFETIME = 300;  // ticks
+    private static final int TRAIL_LIFETIME = 400;  // ticks
+    // createTrail ids count down from -1 so they never collide with entity ids
+    private static final int FIRST_LOCAL_TRAIL_ID = -1;
+    private static final int MIN_PARTICLE_CAP = 64;
+    private static final int MIN_TRAIL_LIFETIME = 20;
+    private static final float BURST_SPREAD = 2.0f;  // blocks a burst covers in its first few ticks
+    private static final float IMPOSTOR_SIZE_SCALE = 2.0f;
     
-    public LaminarVisualsModule() {
-        registerEventListeners();
+    // Allocated by warmUp, released by dispose
+    private static ParticlePool particles;
+    private static TrailRegistry trails;
+    private static ParticleGrid particleGrid;
+    private static PostFxPipeline postFxPipeline;
+    private static final ViewCuller culler = new ViewCuller();
+    private static final ParticleLod lod = new ParticleLod();
+    
+    // Post-processing settings are published as snapshots and picked up by the render side
+    private static final AtomicReference<PostFxState> postFx = new AtomicReference<>(PostFxState.DEFAULT);
+    
+    // Seeded so a given sequence of spawns and ticks always simulates the same way
+    private static final Random spawnRandom = new Random(0L);
+    
+    private static QualityTier qualityTier = QualityTier.ULTRA;
+    private static int trailLifetime = TRAIL_LIFETIME;
+    private static int trailTick = 0;
+    private static int nextLocalTrailId = FIRST_LOCAL_TRAIL_ID;
+    
+    private static FrameScheduler.Handle tickTask;
+    private static FrameScheduler.Handle renderTask;
+    private static FrameScheduler.Handle postFxTask;
+    
+    public LaminarVisualsModule(FrameScheduler scheduler) {
+        registerTasks(scheduler);
     }
     
-    private void registerEventListeners() {
-        // Register world render event for particle rendering
-        WorldRenderEvents.AFTER_TRANSLUCENT.register(context -> {
-            if (enabled) {
-                updateAndRenderParticles(context);
-            }
-        });
+    private void registerTasks(FrameScheduler scheduler) {
+        // World render task for particle rendering
+        renderTask = scheduler.register("laminar", FrameScheduler.Phase.WORLD_RENDER, FrameScheduler.PRIORITY_NORMAL,
+            LaminarVisualsModule::renderParticles);
         
-        // Register tick event for animation updates
-        ClientTickEvents.END_CLIENT_TICK.register(client -> onClientTick());
+        // Tick task for the fixed-step simulation
+        tickTask = scheduler.register("laminar", FrameScheduler.Phase.TICK, FrameScheduler.PRIORITY_NORMAL,
+            context -> onClientTick());
+        
+        // Post-processing state is checked once per frame, before anything is drawn
+        postFxTask = scheduler.register("laminar-postfx", FrameScheduler.Phase.WORLD_RENDER, FrameScheduler.PRIORITY_EARLY,
+            context -> postFxPipeline.update(postFx.get(), context.getFrameNanos()));
+        
+        renderTask.setEnabled(enabled);
+        tickTask.setEnabled(enabled);
+        postFxTask.setEnabled(enabled);
+        
+        // Particle budget and trail length follow the adaptive quality tier
+        scheduler.getGovernor().addListener(LaminarVisualsModule::applyQualityTier);
+    }
+    
+    /**
+     * Allocate the pools and bake the grading LUT for the current settings
+     */
+    @Override
+    public void warmUp() {
+        allocate();
+    }
+    
+    private static void allocate() {
+        if (particles != null) return;
+        
+        ParticlePool pool = new ParticlePool(getEffectiveParticleCap(), PARTICLE_LIFETIME);
+        pool.setParallelThreshold(parallelThreshold);
+        TrailRegistry registry = new TrailRegistry();
+        registry.setSampleCap(trailSampleCap);
+        registry.setStationaryTicks(trailStationaryTicks);
+        registry.setEvictDistance(trailEvictDistance);
+        registry.setStyle(getTrailWidth(), getTrailColor());
+        PostFxPipeline pipeline = new PostFxPipeline();
+        pipeline.update(postFx.get(), System.nanoTime());
+        
+        particleGrid = new ParticleGrid();
+        postFxPipeline = pipeline;
+        trails = registry;
+        particles = pool;
+    }
+    
+    @Override
+    public void enable() {
+        setEnabled(true);
+    }
+    
+    @Override
+    public void disable() {
+        setEnabled(false);
+    }
+    
+    @Override
+    public void dispose() {
+        setEnabled(false);
+        particles = null;
+        trails = null;
+        particleGrid = null;
+        postFxPipeline = null;
+    }
+    
+    /**
+     * Scale particle count, cap and trail lifetime to the quality tier
+     */
+    private static void applyQualityTier(QualityTier tier) {
+        qualityTier = tier;
+        if (particles != null) {
+            particles.setCapacity(getEffectiveParticleCap());
+        }
+        trailLifetime = Math.max(MIN_TRAIL_LIFETIME, Math.round(TRAIL_LIFETIME * tier.getTrailScale()));
     }
     
     /**
      * Spawn hit particles at specified position
      */
     public static void spawnHitParticles(Vec3d pos) {
-        if (!enabled) return;
+        if (!enabled || particles == null) return;
+        
+        float x = (float) pos.x;
+        float y = (float) pos.y;
+        float z = (float) pos.z;
+        int typeId = ParticlePool.typeId(particleType);
+        int count = getEffectiveParticleCount();
+        
+        // Fewer particles for distant hits, judged by how large the whole burst would appear
+        float pixels = lod.projectedPixels(x, y, z, BURST_SPREAD);
+        switch (lod.select(pixels)) {
+            case SKIPPED:
+                return;
+            case IMPOSTOR:
+                // One larger sprite stands in for the whole burst
+                particles.spawn(x, y, z, 0f, 0.25f, 0f, typeId, particleSize * IMPOSTOR_SIZE_SCALE);
+                return;
+            case REDUCED:
+                count = lod.reducedCount(count, pixels);
+                break;
+            default:
+                break;
+        }
         
-        for (int i = 0; i < particleCount; i++) {
-            double angleRad = (2 * Math.PI * i) / particleCount;
-            double vx = Math.cos(angleRad) * 0.5;
-            double vy = Math.random() * 0.3 + 0.2;
-            double vz = Math.sin(angleRad) * 0.5;
+        for (int i = 0; i < count; i++) {
+            double angleRad = (2 * Math.PI * i) / count;
+            float vx = (float) (Math.cos(angleRad) * 0.5);
+            float vy = spawnRandom.nextFloat() * 0.3f + 0.2f;
+            float vz = (float) (Math.sin(angleRad) * 0.5);
             
-            Particle particle = new Particle(
-                pos,
-                new Vec3d(vx, vy, vz),
-                particleType,
-                particleSize,
-                300  // lifetime ticks
-            );
-            particles.add(particle);
+            particles.spawn(x, y, z, vx, vy, vz, typeId, particleSize);
         }
     }
     
     /**
-     * Create trail effect following a path
+     * Create trail effect following a path.
+     * Each call gets its own ribbon, which fades out like any stationary trail.
      */
     public static void createTrail(Vec3d startPos, Vec3d endPos) {
-        if (!enabled || !trailsEnabled) return;
-        
-        TrailPoint point = new TrailPoint(startPos, trailType, 400);
-        trails.add(point);
+        int id = nextLocalTrailId;
+        nextLocalTrailId = id == Integer.MIN_VALUE ? FIRST_LOCAL_TRAIL_ID : id - 1;
+        addTrailSample(id, startPos);
+        addTrailSample(id, endPos);
     }
     
     /**
-     * Update particle animations and remove expired ones
+     * Extend the trail of an entity with its current position
      */
-    private static void updateAndRenderParticles(WorldRenderEvents.AfterTranslucent context) {
-        particles.removeIf(p -> p.isExpired());
-        particles.forEach(p -> p.update());
+    public static void addTrailSample(int entityId, Vec3d pos) {
+        if (!enabled || !trailsEnabled || particles == null) return;
+        
+        if (trailType.equals("PARTICLE")) {
+            // Particle trails are short-lived particles left in place
+            particles.spawn((float) pos.x, (float) pos.y, (float) pos.z, 0f, 0f, 0f,
+                ParticlePool.typeId(particleType), particleSize * 0.5f);
+            return;
+        }
         
-        // Remove expired trails
-        trails.removeIf(t -> t.isExpired());
-        trails.forEach(t -> t.update());
+        trails.add(entityId, (float) pos.x, (float) pos.y, (float) pos.z, trailTick, getTrailWidth(), getTrailColor());
     }
     
     /**
-     * Client tick for color grading and fog effects
+     * Drop an entity's trail right away, e.g. when it is removed from the world
      */
-    private static void onClientTick() {
-        if (!enabled) return;
-        
-        // Apply color grading effects
-        applyColorGrading();
-        
-        // Apply fog effects
-        if (fogDensity > 0) {
-            applyFogEffect();
+    public static void removeTrail(int entityId) {
+        if (trails != null) {
+            trails.remove(entityId);
         }
     }
     
+    private static float getTrailWidth() {
+        return trailType.equals("RIBBON") ? 0.5f : 0.08f;
+    }
+    
+    private static int getTrailColor() {
+        return trailType.equals("RIBBON") ? 0xB366CCFF : 0xCCFFFFFF;
+    }
+    
     /**
-     * Apply color grading to the world
+     * Render particles, interpolated between the last two simulation ticks.
+     * Only grid cells inside the view frustum and cull distance are drawn.
      */
-    private static void applyColorGrading() {
-        switch (colorGradingType) {
-            case "WARM":
-                // Warm tone: increase red/yellow
-                break;
-            case "COOL":
-                // Cool tone: increase blue/cyan
-                break;
-            case "MONOCHROME":
-                // Grayscale effect
-                break;
-            default:
-                // Normal (no effect)
-                break;
+    private static void renderParticles(FrameContext context) {
+        culler.setCamera(context.getCameraX(), context.getCameraY(), context.getCameraZ(),
+            context.getCameraYaw(), context.getCameraPitch(),
+            context.getCameraFov(), context.getCameraAspect(), cullDistance);
+        lod.setCamera(context.getCameraX(), context.getCameraY(), context.getCameraZ(),
+            context.getCameraFov(), context.getViewportHeight());
+        particleGrid.update(particles);
+        ParticleRenderer.render(particles, particleGrid, culler, context);
+        
+        if (!trails.isEmpty()) {
+            TrailRenderer.render(trails, culler, context, trailTick, trailLifetime);
         }
     }
     
     /**
-     * Apply atmospheric fog effect
+     * Advance particles and trails by one fixed step.
+     * Runs once per client tick, so simulation cost and speed do not depend on FPS.
      */
-    private static void applyFogEffect() {
-        // Adjust fog based on fogDensity parameter
-        MinecraftClient client = MinecraftClient.getInstance();
-        if (client.worldRenderer != null) {
-            // Fog will be applied through rendering
+    private static void simulate() {
+        // Optionally hold off-screen clusters still, judged against the last rendered view
+        if (freezeCulled) {
+            particleGrid.update(particles);
+            particleGrid.freezeCulled(particles, culler);
         }
+        
+        // Expired particles are retired in one batch by the pool
+        particles.update();
+        
+        // Ribbons drop their expired tail segments; stale and distant trails are evicted
+        trailTick++;
+        if (culler.hasCamera()) {
+            trails.update(trailTick, trailLifetime, culler.getCameraX(), culler.getCameraY(), culler.getCameraZ());
+        } else {
+            trails.update(trailTick, trailLifetime);
+        }
+    }
+    
+    /**
+     * Client tick for the particle simulation.
+     * Grading and fog have no per-tick work; see {@link PostFxPipeline}.
+     */
+    private static void onClientTick() {
+        simulate();
     }
     
     /**
@@ -135,7 +279,14 @@ public class LaminarVisualsModule {
      */
     public static void setEnabled(boolean value) {
         enabled = value;
-        if (!enabled) {
+        if (tickTask != null) {
+            // Pools only come from ModuleManager's warm-up; until then the tasks stay off
+            boolean active = value && particles != null;
+            tickTask.setEnabled(active);
+            renderTask.setEnabled(active);
+            postFxTask.setEnabled(active);
+        }
+        if (!enabled && particles != null) {
             particles.clear();
             trails.clear();
         }
@@ -153,80 +304,171 @@ public class LaminarVisualsModule {
         particleSize = Math.max(0.1f, Math.min(2.0f, size));
     }
     
+    public static void setParticleCap(int cap) {
+        particleCap = Math.max(MIN_PARTICLE_CAP, Math.min(ParticlePool.MAX_CAPACITY, cap));
+        if (particles != null) {
+            particles.setCapacity(getEffectiveParticleCap());
+        }
+    }
+    
+    public static void setParallelThreshold(int threshold) {
+        parallelThreshold = threshold;
+        if (particles != null) {
+            particles.setParallelThreshold(threshold);
+        }
+    }
+    
+    /**
+     * Particles farther than this many blocks from the camera are not drawn
+     */
+    public static void setCullDistance(float distance) {
+        cullDistance = Math.max(8f, Math.min(512f, distance));
+    }
+    
+    /**
+     * Stop integrating particles while they are off screen; they still expire on time
+     */
+    public static void setFreezeCulled(boolean value) {
+        freezeCulled = value;
+        if (!value && particles != null) {
+            particles.thawAll();
+        }
+    }
+    
+    public static void setLodEnabled(boolean value) {
+        lod.setEnabled(value);
+    }
+    
+    /**
+     * Projected particle sizes in pixels below which hit bursts are reduced,
+     * collapsed into one impostor and skipped
+     */
+    public static void setLodThresholds(float fullDetailPixels, float impostorPixels, float cullPixels) {
+        lod.setThresholds(fullDetailPixels, impostorPixels, cullPixels);
+    }
+    
     public static void setTrailType(String type) {
         trailType = type;  // LINEAR, RIBBON, PARTICLE
+        if (trails != null) {
+            trails.setStyle(getTrailWidth(), getTrailColor());
+        }
     }
     
     public static void setTrailsEnabled(boolean value) {
         trailsEnabled = value;
+        if (!value && trails != null) {
+            trails.clear();
+        }
     }
     
     public static void setColorGradingType(String type) {
-        colorGradingType = type;  // NORMAL, WARM, COOL, MONOCHROME
+        // NORMAL, WARM, COOL, MONOCHROME
+        postFx.updateAndGet(state -> state.withGradingType(type));
+    }
+    
+    /**
+     * Blend the grading toward a second type (0 = only the main type, 1 = only the blend type)
+     */
+    public static void setColorGradingBlend(String type, float amount) {
+        float clamped = Math.max(0f, Math.min(1f, amount));
+        postFx.updateAndGet(state -> state.withGradingBlend(type, clamped));
     }
     
     public static void setFogDensity(float density) {
-        fogDensity = Math.max(0f, Math.min(1.0f, density));
+        float clamped = Math.max(0f, Math.min(1.0f, density));
+        postFx.updateAndGet(state -> state.withFogDensity(clamped));
+    }
+    
+    /**
+     * Reseed particle spawning, e.g. to replay a recorded tick sequence
+     */
+    public static void setSimulationSeed(long seed) {
+        spawnRandom.setSeed(seed);
     }
     
     public static boolean isEnabled() {
         return enabled;
     }
     
+    public static int getParticleCap() {
+        return particleCap;
+    }
+    
     /**
-     * Inner class for particle representation
+     * Particles per hit after quality scaling
      */
-    public static class Particle {
-        private Vec3d pos;
-        private Vec3d vel;
-        private String type;
-        private float size;
-        private int lifetime;
-        private int age;
-        
-        public Particle(Vec3d pos, Vec3d vel, String type, float size, int lifetime) {
-            this.pos = pos;
-            this.vel = vel;
-            this.type = type;
-            this.size = size;
-            this.lifetime = lifetime;
-            this.age = 0;
-        }
-        
-        public void update() {
-            age++;
-            pos = pos.add(vel);
-            vel = vel.multiply(0.98);  // Damping
-            vel = vel.add(0, -0.02, 0);  // Gravity
-        }
-        
-        public boolean isExpired() {
-            return age >= lifetime;
-        }
+    public static int getEffectiveParticleCount() {
+        return Math.max(1, Math.round(particleCount * qualityTier.getParticleScale()));
     }
     
     /**
-     * Inner class for trail representation
+     * Particle cap after quality scaling
      */
-    public static class TrailPoint {
-        private Vec3d pos;
-        private String type;
-        private int lifetime;
-        private int age;
-        
-        public TrailPoint(Vec3d pos, String type, int lifetime) {
-            this.pos = pos;
-            this.type = type;
-            this.lifetime = lifetime;
-            this.age = 0;
+    public static int getEffectiveParticleCap() {
+        return Math.max(MIN_PARTICLE_CAP, Math.round(particleCap * qualityTier.getParticleScale()));
+    }
+    
+    /**
+     * Frustum and distance test from the last rendered frame
+     */
+    public static ViewCuller getCuller() {
+        return culler;
+    }
+    
+    public static void setTrailSampleCap(int cap) {
+        trailSampleCap = cap;
+        if (trails != null) {
+            trails.setSampleCap(cap);
         }
-        
-        public void update() {
-            age++;
+    }
+    
+    public static void setTrailStationaryTicks(int ticks) {
+        trailStationaryTicks = ticks;
+        if (trails != null) {
+            trails.setStationaryTicks(ticks);
         }
-        
-        public boolean isExpired() {
-            return age >= lifetime;
+    }
+    
+    public static void setTrailEvictDistance(float distance) {
+        trailEvictDistance = distance;
+        if (trails != null) {
+            trails.setEvictDistance(distance);
         }
     }
+    
+    /**
+     * Live trail registry, for monitoring its size and evictions; null until warmed up
+     */
+    public static TrailRegistry getTrails() {
+        return trails;
+    }
+    
+    /**
+     * Baked grading LUT for the current settings; null until warmed up
+     */
+    public static ColorLut getColorLut() {
+        return postFxPipeline != null ? postFxPipeline.getLut() : null;
+    }
+    
+    /**
+     * Latest published post-processing settings
+     */
+    public static PostFxState getPostFxState() {
+        return postFx.get();
+    }
+    
+    /**
+     * Fog density as currently shown, eased toward the configured value
+     */
+    public static float getFogDensity() {
+        return postFxPipeline != null ? postFxPipeline.getFogDensity() : 0f;
+    }
+    
+    public static ParticleLod getLod() {
+        return lod;
+    }
+    
+    public static ParticlePool getParticles() {
+        return particles;
+    }
 }
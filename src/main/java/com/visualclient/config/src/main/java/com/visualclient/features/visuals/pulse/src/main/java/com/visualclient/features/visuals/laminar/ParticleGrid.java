@@ -0,0 +1,179 @@
+package com.visualclient.features.visuals.laminar;
+
+import com.visualclient.render.ViewCuller;
+import java.util.Arrays;
+
+/**
+ * Coarse spatial index over a {@link ParticlePool}.
+ * Particles are bucketed into cubic cells with a counting sort, and each cell keeps
+ * the bounds of its particles over the current tick (previous and current position),
+ * so interpolated rendering never leaves the box. A culled cell rejects its whole
+ * cluster with one frustum test. Rebuilt only when the pool changes.
+ */
+public class ParticleGrid {
+    public static final int CELL_SHIFT = 3;  // 8-block cells
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    // Open-addressing table from packed cell coordinates to cell index
+    private long[] tableKeys = new long[64];
+    private int[] tableCells = new int[64];
+
+    // Per cell: first entry in slots, particle count and bounds
+    private int[] cellStart = new int[32];
+    private int[] cellCount = new int[32];
+    private float[] bounds = new float[32 * 6];
+    private int cells = 0;
+
+    // Physical pool slots grouped by cell, and the cell of each live particle
+    private int[] slots = new int[0];
+    private int[] slotCell = new int[0];
+    private int particles = 0;
+    private int builtVersion = -1;
+    private long builds = 0;
+
+    /**
+     * Rebuild if the pool changed since the last build
+     */
+    public void update(ParticlePool pool) {
+        if (pool.getVersion() != builtVersion || pool.size() != particles) {
+            build(pool);
+        }
+    }
+
+    private void build(ParticlePool pool) {
+        builds++;
+        builtVersion = pool.getVersion();
+        particles = pool.size();
+        cells = 0;
+        ensureParticles(particles);
+        ensureTable(particles);
+        Arrays.fill(tableKeys, EMPTY);
+
+        // Pass 1: assign cells and grow their bounds
+        for (int i = 0; i < particles; i++) {
+            int slot = pool.physical(i);
+            float x = pool.getX(slot), y = pool.getY(slot), z = pool.getZ(slot);
+            int cell = cellFor(key(x, y, z));
+            slotCell[i] = cell;
+            cellCount[cell]++;
+
+            float half = pool.getSize(slot) * 0.1f;
+            // Position at the previous tick, where interpolation starts
+            float px = pool.getRenderX(slot, 0f), py = pool.getRenderY(slot, 0f), pz = pool.getRenderZ(slot, 0f);
+            int b = cell * 6;
+            bounds[b] = Math.min(bounds[b], Math.min(x, px) - half);
+            bounds[b + 1] = Math.min(bounds[b + 1], Math.min(y, py) - half);
+            bounds[b + 2] = Math.min(bounds[b + 2], Math.min(z, pz) - half);
+            bounds[b + 3] = Math.max(bounds[b + 3], Math.max(x, px) + half);
+            bounds[b + 4] = Math.max(bounds[b + 4], Math.max(y, py) + half);
+            bounds[b + 5] = Math.max(bounds[b + 5], Math.max(z, pz) + half);
+        }
+
+        // Pass 2: counting sort of slots by cell
+        int offset = 0;
+        for (int c = 0; c < cells; c++) {
+            cellStart[c] = offset;
+            offset += cellCount[c];
+            cellCount[c] = 0;
+        }
+        for (int i = 0; i < particles; i++) {
+            int cell = slotCell[i];
+            slots[cellStart[cell] + cellCount[cell]++] = pool.physical(i);
+        }
+    }
+
+    private static long key(float x, float y, float z) {
+        long cx = (long) Math.floor(x) >> CELL_SHIFT;
+        long cy = (long) Math.floor(y) >> CELL_SHIFT;
+        long cz = (long) Math.floor(z) >> CELL_SHIFT;
+        return (cx & 0x1FFFFF) << 42 | (cy & 0x1FFFFF) << 21 | (cz & 0x1FFFFF);
+    }
+
+    private int cellFor(long key) {
+        int mask = tableKeys.length - 1;
+        int i = (int) (key ^ (key >>> 29) ^ (key >>> 47)) * 0x9E3779B9 & mask;
+        while (tableKeys[i] != EMPTY) {
+            if (tableKeys[i] == key) return tableCells[i];
+            i = (i + 1) & mask;
+        }
+
+        int cell = cells++;
+        ensureCells(cells);
+        tableKeys[i] = key;
+        tableCells[i] = cell;
+        cellCount[cell] = 0;
+        int b = cell * 6;
+        bounds[b] = bounds[b + 1] = bounds[b + 2] = Float.MAX_VALUE;
+        bounds[b + 3] = bounds[b + 4] = bounds[b + 5] = -Float.MAX_VALUE;
+        return cell;
+    }
+
+    private void ensureParticles(int n) {
+        if (slots.length < n) {
+            int size = Math.max(n, slots.length * 2);
+            slots = new int[size];
+            slotCell = new int[size];
+        }
+    }
+
+    private void ensureTable(int n) {
+        // At most one cell per particle; keep the load factor under one half
+        int needed = Integer.highestOneBit(Math.max(32, n) * 2 - 1) << 1;
+        if (tableKeys.length < needed) {
+            tableKeys = new long[needed];
+            tableCells = new int[needed];
+        }
+    }
+
+    private void ensureCells(int n) {
+        if (cellStart.length < n) {
+            int size = cellStart.length * 2;
+            cellStart = Arrays.copyOf(cellStart, size);
+            cellCount = Arrays.copyOf(cellCount, size);
+            bounds = Arrays.copyOf(bounds, size * 6);
+        }
+    }
+
+    /**
+     * Whether a cell's bounds pass the culler
+     */
+    public boolean isCellVisible(int cell, ViewCuller culler) {
+        int b = cell * 6;
+        return culler.isBoxVisible(bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3], bounds[b + 4], bounds[b + 5]);
+    }
+
+    /**
+     * Freeze the particles of every culled cell and thaw the rest
+     */
+    public void freezeCulled(ParticlePool pool, ViewCuller culler) {
+        for (int c = 0; c < cells; c++) {
+            boolean frozen = !isCellVisible(c, culler);
+            for (int i = cellStart[c], end = i + cellCount[c]; i < end; i++) {
+                pool.setFrozen(slots[i], frozen);
+            }
+        }
+    }
+
+    public int getCellCount() {
+        return cells;
+    }
+
+    public int getCellStart(int cell) {
+        return cellStart[cell];
+    }
+
+    public int getCellSize(int cell) {
+        return cellCount[cell];
+    }
+
+    /**
+     * Physical pool slot of the given entry; entries of one cell are contiguous
+     */
+    public int getSlot(int entry) {
+        return slots[entry];
+    }
+
+    public long getBuildCount() {
+        return builds;
+    }
+}
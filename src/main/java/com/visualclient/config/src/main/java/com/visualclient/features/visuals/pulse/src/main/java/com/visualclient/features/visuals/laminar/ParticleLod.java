@@ -0,0 +1,121 @@
+package com.visualclient.features.visuals.laminar;
+
+/**
+ * Level of detail for hit particle bursts, chosen from the projected on-screen size
+ * of the whole burst at the hit position. With the defaults a burst stays at full
+ * detail out to about 32 blocks at 1080p and 70 degrees FOV. Farther hits
+ * spawn fewer particles, then a single impostor sprite, and bursts only a pixel
+ * or two across are skipped. Uses the camera of the last rendered frame.
+ */
+public class ParticleLod {
+    public enum Level {
+        FULL,
+        REDUCED,
+        IMPOSTOR,
+        SKIPPED
+    }
+
+    public static final float DEFAULT_FULL_DETAIL_PIXELS = 48f;
+    public static final float DEFAULT_IMPOSTOR_PIXELS = 12f;
+    public static final float DEFAULT_CULL_PIXELS = 2f;
+    private static final int MIN_REDUCED_COUNT = 2;
+
+    private boolean enabled = true;
+    private float fullDetailPixels = DEFAULT_FULL_DETAIL_PIXELS;
+    private float impostorPixels = DEFAULT_IMPOSTOR_PIXELS;
+    private float cullPixels = DEFAULT_CULL_PIXELS;
+
+    private boolean hasCamera = false;
+    private double camX, camY, camZ;
+    private float pixelsPerUnitAtOneBlock;
+
+    private final long[] bursts = new long[Level.values().length];
+
+    /**
+     * Remember the camera of the current frame
+     *
+     * @param fovY           vertical field of view in degrees
+     * @param viewportHeight framebuffer height in pixels
+     */
+    public void setCamera(double x, double y, double z, float fovY, int viewportHeight) {
+        camX = x;
+        camY = y;
+        camZ = z;
+        float tanHalf = (float) Math.tan(Math.toRadians(fovY) / 2);
+        pixelsPerUnitAtOneBlock = viewportHeight / (2f * tanHalf);
+        hasCamera = true;
+    }
+
+    /**
+     * On-screen height in pixels of an object of the given world size at a position
+     */
+    public float projectedPixels(double x, double y, double z, float worldSize) {
+        if (!hasCamera) return Float.MAX_VALUE;
+        double dx = x - camX, dy = y - camY, dz = z - camZ;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+        return worldSize * pixelsPerUnitAtOneBlock / Math.max(0.05f, distance);
+    }
+
+    /**
+     * Detail level for a burst that appears this large on screen
+     */
+    public Level select(float pixels) {
+        Level level;
+        if (!enabled || pixels >= fullDetailPixels) {
+            level = Level.FULL;
+        } else if (pixels >= impostorPixels) {
+            level = Level.REDUCED;
+        } else if (pixels >= cullPixels) {
+            level = Level.IMPOSTOR;
+        } else {
+            level = Level.SKIPPED;
+        }
+        bursts[level.ordinal()]++;
+        return level;
+    }
+
+    /**
+     * Particle count for a reduced burst, shrinking linearly with projected size
+     */
+    public int reducedCount(int fullCount, float pixels) {
+        int scaled = Math.round(fullCount * pixels / fullDetailPixels);
+        return Math.max(Math.min(MIN_REDUCED_COUNT, fullCount), Math.min(fullCount, scaled));
+    }
+
+    public void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Set the projected sizes (pixels) below which bursts are reduced, collapsed and skipped.
+     * Values are forced into descending order.
+     */
+    public void setThresholds(float fullDetail, float impostor, float cull) {
+        cullPixels = Math.max(0f, cull);
+        impostorPixels = Math.max(cullPixels, impostor);
+        fullDetailPixels = Math.max(impostorPixels, fullDetail);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public float getFullDetailPixels() {
+        return fullDetailPixels;
+    }
+
+    public float getImpostorPixels() {
+        return impostorPixels;
+    }
+
+    public float getCullPixels() {
+        return cullPixels;
+    }
+
+    /**
+     * Number of bursts spawned at a level since startup
+     */
+    public long getBurstCount(Level level) {
+        return bursts[level.ordinal()];
+    }
+}
@@ -0,0 +1,378 @@
+package com.visualclient.features.visuals.laminar;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fixed-capacity particle store for LaminarVisuals.
+ * Keeps every particle attribute in parallel primitive arrays laid out as a ring,
+ * so spawning, integration and expiry never allocate once the pool is sized.
+ * When the pool is full the oldest particle is overwritten.
+ * All particles share one lifetime, so expiry is FIFO and is driven by an {@link ExpiryWheel}.
+ */
+public class ParticlePool {
+    public static final int DEFAULT_CAPACITY = 32768;
+    public static final int MAX_CAPACITY = 1 << 20;
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 20000;
+
+    // Particle type ids, in the order of LaminarVisualsModule.setParticleType
+    public static final int TYPE_HEART = 0;
+    public static final int TYPE_SQUARE = 1;
+    public static final int TYPE_CIRCLE = 2;
+    public static final int TYPE_PIXEL = 3;
+    public static final int TYPE_TEXT = 4;
+
+    private static final float DAMPING = 0.98f;
+    private static final float GRAVITY = 0.02f;
+
+    // Smallest run of slots handed to one worker on the parallel path
+    private static final int MIN_CHUNK = 4096;
+
+    private int capacity;
+    private float[] prevX;
+    private float[] prevY;
+    private float[] prevZ;
+    private float[] posX;
+    private float[] posY;
+    private float[] posZ;
+    private float[] velX;
+    private float[] velY;
+    private float[] velZ;
+    private float[] size;
+    private int[] type;
+    private int[] birthTick;
+    private byte[] frozen;
+    private final ExpiryWheel wheel;
+
+    // Physical slot of the oldest live particle and number of live particles
+    private int head = 0;
+    private int count = 0;
+    private long overwritten = 0;
+
+    // Bumped on every change, so derived indexes know when to rebuild
+    private int version = 0;
+    private boolean hasFrozen = false;
+
+    // Populations at or above this size are integrated on the worker pool
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private ForkJoinPool workers;
+
+    public ParticlePool(int capacity, int lifetime) {
+        this.wheel = new ExpiryWheel(lifetime);
+        allocate(clampCapacity(capacity));
+    }
+
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        prevX = new float[newCapacity];
+        prevY = new float[newCapacity];
+        prevZ = new float[newCapacity];
+        posX = new float[newCapacity];
+        posY = new float[newCapacity];
+        posZ = new float[newCapacity];
+        velX = new float[newCapacity];
+        velY = new float[newCapacity];
+        velZ = new float[newCapacity];
+        size = new float[newCapacity];
+        type = new int[newCapacity];
+        birthTick = new int[newCapacity];
+        frozen = new byte[newCapacity];
+    }
+
+    private static int clampCapacity(int value) {
+        return Math.max(1, Math.min(MAX_CAPACITY, value));
+    }
+
+    /**
+     * Spawn a particle, overwriting the oldest one if the pool is full
+     */
+    public void spawn(float x, float y, float z, float vx, float vy, float vz,
+                      int particleType, float particleSize) {
+        int slot;
+        if (count == capacity) {
+            // Oldest-first overwrite: reuse the head slot and advance the ring
+            slot = head;
+            head = next(head);
+            wheel.forget(birthTick[slot]);
+            overwritten++;
+        } else {
+            slot = physical(count);
+            count++;
+        }
+
+        prevX[slot] = x;
+        prevY[slot] = y;
+        prevZ[slot] = z;
+        posX[slot] = x;
+        posY[slot] = y;
+        posZ[slot] = z;
+        velX[slot] = vx;
+        velY[slot] = vy;
+        velZ[slot] = vz;
+        size[slot] = particleSize;
+        type[slot] = particleType;
+        birthTick[slot] = wheel.record();
+        frozen[slot] = 0;
+        version++;
+    }
+
+    /**
+     * Advance the simulation by one fixed step (one client tick).
+     * Retires the expired batch in O(1), then integrates the survivors in a single pass.
+     * The previous state is kept so the renderer can interpolate between ticks.
+     */
+    public void update() {
+        int expired = wheel.advance();
+        if (expired > 0) {
+            head = physical(expired);
+            count -= expired;
+        }
+        version++;
+        if (count == 0) return;
+
+        // The live range is at most two contiguous runs of the ring
+        int end = head + count;
+        if (count >= parallelThreshold) {
+            integrateParallel(end);
+        } else if (end <= capacity) {
+            integrate(head, end);
+        } else {
+            integrate(head, capacity);
+            integrate(0, end - capacity);
+        }
+    }
+
+    /**
+     * Split the live range into chunks and integrate them on the worker pool.
+     * Blocks until every chunk is done, so the render pass that follows on the
+     * client thread always sees a fully integrated tick, never a partial one.
+     */
+    private void integrateParallel(int end) {
+        ForkJoinPool pool = workers != null ? workers : Workers.POOL;
+        int chunk = Math.max(MIN_CHUNK, count / (pool.getParallelism() * 4));
+        if (end <= capacity) {
+            pool.invoke(new IntegrateTask(head, end, chunk));
+        } else {
+            pool.invoke(new IntegrateTask(head, capacity, chunk));
+            pool.invoke(new IntegrateTask(0, end - capacity, chunk));
+        }
+    }
+
+    private void integrate(int from, int to) {
+        if (hasFrozen) {
+            integrateUnfrozen(from, to);
+            return;
+        }
+        for (int slot = from; slot < to; slot++) {
+            prevX[slot] = posX[slot];
+            prevY[slot] = posY[slot];
+            prevZ[slot] = posZ[slot];
+            posX[slot] += velX[slot];
+            posY[slot] += velY[slot];
+            posZ[slot] += velZ[slot];
+            velX[slot] *= DAMPING;
+            velY[slot] = velY[slot] * DAMPING - GRAVITY;  // Damping, then gravity
+            velZ[slot] *= DAMPING;
+        }
+    }
+
+    /**
+     * Integration loop used while some particles are frozen
+     */
+    private void integrateUnfrozen(int from, int to) {
+        for (int slot = from; slot < to; slot++) {
+            prevX[slot] = posX[slot];
+            prevY[slot] = posY[slot];
+            prevZ[slot] = posZ[slot];
+            if (frozen[slot] != 0) continue;
+            posX[slot] += velX[slot];
+            posY[slot] += velY[slot];
+            posZ[slot] += velZ[slot];
+            velX[slot] *= DAMPING;
+            velY[slot] = velY[slot] * DAMPING - GRAVITY;  // Damping, then gravity
+            velZ[slot] *= DAMPING;
+        }
+    }
+
+    /**
+     * Change the hard cap. Keeps the newest particles that still fit.
+     * Allocates, so call it from configuration code, not per frame.
+     */
+    public void setCapacity(int newCapacity) {
+        newCapacity = clampCapacity(newCapacity);
+        if (newCapacity == capacity) return;
+
+        float[] oldPrevX = prevX, oldPrevY = prevY, oldPrevZ = prevZ;
+        float[] oldPosX = posX, oldPosY = posY, oldPosZ = posZ;
+        float[] oldVelX = velX, oldVelY = velY, oldVelZ = velZ;
+        float[] oldSize = size;
+        int[] oldType = type, oldBirthTick = birthTick;
+        byte[] oldFrozen = frozen;
+        int oldCapacity = capacity;
+        int oldHead = head;
+        int kept = Math.min(count, newCapacity);
+        int skipped = count - kept;
+
+        for (int i = 0; i < skipped; i++) {
+            wheel.forget(oldBirthTick[(oldHead + i) % oldCapacity]);
+        }
+
+        allocate(newCapacity);
+        for (int i = 0; i < kept; i++) {
+            int from = (oldHead + skipped + i) % oldCapacity;
+            prevX[i] = oldPrevX[from];
+            prevY[i] = oldPrevY[from];
+            prevZ[i] = oldPrevZ[from];
+            posX[i] = oldPosX[from];
+            posY[i] = oldPosY[from];
+            posZ[i] = oldPosZ[from];
+            velX[i] = oldVelX[from];
+            velY[i] = oldVelY[from];
+            velZ[i] = oldVelZ[from];
+            size[i] = oldSize[from];
+            type[i] = oldType[from];
+            birthTick[i] = oldBirthTick[from];
+            frozen[i] = oldFrozen[from];
+        }
+        head = 0;
+        count = kept;
+        version++;
+    }
+
+    public void clear() {
+        head = 0;
+        count = 0;
+        wheel.clear();
+        version++;
+    }
+
+    /**
+     * Freeze or thaw a particle; frozen particles keep their position and
+     * velocity but still age and expire normally
+     */
+    public void setFrozen(int slot, boolean value) {
+        frozen[slot] = (byte) (value ? 1 : 0);
+        if (value) {
+            hasFrozen = true;
+        }
+    }
+
+    /**
+     * Thaw every particle and go back to the branch-free integration loop
+     */
+    public void thawAll() {
+        if (!hasFrozen) return;
+        Arrays.fill(frozen, (byte) 0);
+        hasFrozen = false;
+    }
+
+    public boolean isFrozen(int slot) {
+        return frozen[slot] != 0;
+    }
+
+    /**
+     * Changes whenever particles are spawned, moved, retired or reallocated
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Map a logical index (0 = oldest) to a physical array slot
+     */
+    public int physical(int index) {
+        int slot = head + index;
+        return slot >= capacity ? slot - capacity : slot;
+    }
+
+    private int next(int slot) {
+        return slot + 1 == capacity ? 0 : slot + 1;
+    }
+
+    /**
+     * Resolve a particle type name to its id
+     */
+    public static int typeId(String name) {
+        switch (name) {
+            case "SQUARE": return TYPE_SQUARE;
+            case "CIRCLE": return TYPE_CIRCLE;
+            case "PIXEL": return TYPE_PIXEL;
+            case "TEXT": return TYPE_TEXT;
+            default: return TYPE_HEART;
+        }
+    }
+
+    /**
+     * Slot accessors for the renderer
+     */
+    public float getX(int slot) { return posX[slot]; }
+    public float getY(int slot) { return posY[slot]; }
+    public float getZ(int slot) { return posZ[slot]; }
+    public float getRenderX(int slot, float tickDelta) { return prevX[slot] + (posX[slot] - prevX[slot]) * tickDelta; }
+    public float getRenderY(int slot, float tickDelta) { return prevY[slot] + (posY[slot] - prevY[slot]) * tickDelta; }
+    public float getRenderZ(int slot, float tickDelta) { return prevZ[slot] + (posZ[slot] - prevZ[slot]) * tickDelta; }
+    public float getSize(int slot) { return size[slot]; }
+    public int getType(int slot) { return type[slot]; }
+    public int getAge(int slot) { return wheel.getTick() - birthTick[slot]; }
+
+    public int size() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getLifetime() {
+        return wheel.getLifetime();
+    }
+
+    public long getOverwrittenCount() {
+        return overwritten;
+    }
+
+    /**
+     * Set the population size from which updates run in parallel.
+     * Integer.MAX_VALUE keeps every update on the calling thread.
+     */
+    public void setParallelThreshold(int threshold) {
+        parallelThreshold = Math.max(MIN_CHUNK, threshold);
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Use a specific pool for parallel updates instead of the shared workers (benchmarks)
+     */
+    public void setWorkerPool(ForkJoinPool pool) {
+        workers = pool;
+    }
+
+    /**
+     * Integrates a run of physical slots, splitting it in half until it is small enough
+     */
+    private class IntegrateTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        IntegrateTask(int from, int to, int chunk) {
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                integrate(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new IntegrateTask(from, mid, chunk), new IntegrateTask(mid, to, chunk));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.visualclient.features.visuals.laminar;
+
+import com.visualclient.core.FrameContext;
+import com.visualclient.render.ViewCuller;
+import com.visualclient.render.WorldQuadSink;
+
+/**
+ * Draws Laminar particles as camera-facing quads.
+ * Positions are interpolated between the last two simulation ticks using tickDelta,
+ * so motion stays smooth at any frame rate while the simulation runs at a fixed step.
+ */
+public class ParticleRenderer {
+    private static final int[] TYPE_COLORS = {
+        0xFFFF4D6D,  // HEART
+        0xFFFFFFFF,  // SQUARE
+        0xFF66CCFF,  // CIRCLE
+        0xFFFFFF66,  // PIXEL
+        0xFFB388FF   // TEXT
+    };
+
+    // Camera basis, refreshed once per frame
+    private static float rightX, rightY, rightZ;
+    private static float upX, upY, upZ;
+
+    /**
+     * Render the live particles in grid cells that pass the culler
+     */
+    public static void render(ParticlePool pool, ParticleGrid grid, ViewCuller culler, FrameContext context) {
+        WorldQuadSink sink = context.getWorldSink();
+        if (pool.size() == 0 || sink == null) return;
+
+        float tickDelta = context.getTickDelta();
+        updateCameraBasis(context.getCameraYaw(), context.getCameraPitch());
+
+        float camX = (float) context.getCameraX();
+        float camY = (float) context.getCameraY();
+        float camZ = (float) context.getCameraZ();
+        float lifetime = pool.getLifetime();
+
+        sink.begin();
+
+        for (int cell = 0, cells = grid.getCellCount(); cell < cells; cell++) {
+            // Off-screen or distant clusters are skipped as a whole
+            if (!grid.isCellVisible(cell, culler)) continue;
+
+            for (int e = grid.getCellStart(cell), end = e + grid.getCellSize(cell); e < end; e++) {
+                emitParticle(pool, grid.getSlot(e), tickDelta, lifetime, camX, camY, camZ, sink);
+            }
+        }
+        sink.end();
+    }
+
+    private static void emitParticle(ParticlePool pool, int slot, float tickDelta, float lifetime,
+                                     float camX, float camY, float camZ, WorldQuadSink sink) {
+        float x = pool.getRenderX(slot, tickDelta) - camX;
+        float y = pool.getRenderY(slot, tickDelta) - camY;
+        float z = pool.getRenderZ(slot, tickDelta) - camZ;
+        float half = pool.getSize(slot) * 0.1f;
+
+        // Fade out over the particle lifetime
+        float life = 1.0f - (pool.getAge(slot) + tickDelta) / lifetime;
+        int alpha = (int) (255 * Math.max(0f, Math.min(1f, life)));
+        int color = (alpha << 24) | (TYPE_COLORS[pool.getType(slot)] & 0xFFFFFF);
+
+        emitQuad(sink, x, y, z, half, color);
+    }
+
+    /**
+     * Emit one billboard quad around a camera-relative position
+     */
+    static void emitQuad(WorldQuadSink sink, float x, float y, float z, float half, int color) {
+        float rx = rightX * half, ry = rightY * half, rz = rightZ * half;
+        float ux = upX * half, uy = upY * half, uz = upZ * half;
+        sink.vertex(x - rx - ux, y - ry - uy, z - rz - uz, color);
+        sink.vertex(x - rx + ux, y - ry + uy, z - rz + uz, color);
+        sink.vertex(x + rx + ux, y + ry + uy, z + rz + uz, color);
+        sink.vertex(x + rx - ux, y + ry - uy, z + rz - uz, color);
+    }
+
+    /**
+     * Compute camera right/up vectors from yaw and pitch
+     */
+    static void updateCameraBasis(float yaw, float pitch) {
+        double yawRad = Math.toRadians(yaw);
+        double pitchRad = Math.toRadians(pitch);
+        float sinYaw = (float) Math.sin(yawRad);
+        float cosYaw = (float) Math.cos(yawRad);
+        float sinPitch = (float) Math.sin(pitchRad);
+        float cosPitch = (float) Math.cos(pitchRad);
+
+        rightX = -cosYaw;
+        rightY = 0f;
+        rightZ = -sinYaw;
+
+        upX = -sinYaw * sinPitch;
+        upY = cosPitch;
+        upZ = cosYaw * sinPitch;
+    }
+}
@@ -0,0 +1,66 @@
+package com.visualclient.features.visuals.laminar;
+
+/**
+ * Render-side consumer of {@link PostFxState} snapshots.
+ * Rebakes the grading LUT only when a new snapshot changes grading, and eases the
+ * fog density toward its target every frame so fog changes fade instead of snapping.
+ */
+public class PostFxPipeline {
+    // Fog covers about 63% of the remaining distance to its target per time constant
+    private static final float FOG_TIME_CONSTANT_SECONDS = 0.35f;
+    private static final float FOG_EPSILON = 0.001f;
+    private static final long MAX_STEP_NANOS = 100_000_000L;
+
+    private final ColorLut lut = new ColorLut();
+    private PostFxState applied;
+    private float fogDensity = 0f;
+    private float fogTarget = 0f;
+    private long lastFrameNanos = 0;
+    private long rebuilds = 0;
+
+    /**
+     * Pick up a newer snapshot if there is one and advance the fog transition
+     */
+    public void update(PostFxState state, long frameNanos) {
+        if (applied == null || state.getVersion() != applied.getVersion()) {
+            if (applied == null || !state.sameGrading(applied)) {
+                lut.bake(state.getGradingType(), state.getGradingBlendType(), state.getGradingBlend());
+            }
+            fogTarget = state.getFogDensity();
+            applied = state;
+            rebuilds++;
+        }
+
+        long elapsed = lastFrameNanos == 0 ? 0 : Math.min(MAX_STEP_NANOS, frameNanos - lastFrameNanos);
+        lastFrameNanos = frameNanos;
+        if (fogDensity != fogTarget && elapsed > 0) {
+            float k = 1f - (float) Math.exp(-(elapsed / 1e9) / FOG_TIME_CONSTANT_SECONDS);
+            fogDensity += (fogTarget - fogDensity) * k;
+            if (Math.abs(fogTarget - fogDensity) < FOG_EPSILON) {
+                fogDensity = fogTarget;
+            }
+        }
+    }
+
+    /**
+     * Current, smoothed fog density (0 = no fog)
+     */
+    public float getFogDensity() {
+        return fogDensity;
+    }
+
+    public boolean isFogTransitioning() {
+        return fogDensity != fogTarget;
+    }
+
+    public ColorLut getLut() {
+        return lut;
+    }
+
+    /**
+     * Number of snapshots applied; stays flat while settings do not change
+     */
+    public long getRebuildCount() {
+        return rebuilds;
+    }
+}
@@ -0,0 +1,65 @@
+package com.visualclient.features.visuals.laminar;
+
+/**
+ * Immutable snapshot of Laminar's post-processing settings.
+ * Setters publish a new snapshot with the next version; the render side compares
+ * versions once per frame and only rebuilds derived state (LUT, fog target) on change.
+ */
+public final class PostFxState {
+    public static final PostFxState DEFAULT = new PostFxState(0, "NORMAL", "NORMAL", 0f, 0f);
+
+    private final int version;
+    private final String gradingType;
+    private final String gradingBlendType;
+    private final float gradingBlend;
+    private final float fogDensity;
+
+    private PostFxState(int version, String gradingType, String gradingBlendType,
+                        float gradingBlend, float fogDensity) {
+        this.version = version;
+        this.gradingType = gradingType;
+        this.gradingBlendType = gradingBlendType;
+        this.gradingBlend = gradingBlend;
+        this.fogDensity = fogDensity;
+    }
+
+    public PostFxState withGradingType(String type) {
+        return new PostFxState(version + 1, type, gradingBlendType, gradingBlend, fogDensity);
+    }
+
+    public PostFxState withGradingBlend(String type, float amount) {
+        return new PostFxState(version + 1, gradingType, type, amount, fogDensity);
+    }
+
+    public PostFxState withFogDensity(float density) {
+        return new PostFxState(version + 1, gradingType, gradingBlendType, gradingBlend, density);
+    }
+
+    /**
+     * Whether both snapshots bake to the same LUT
+     */
+    public boolean sameGrading(PostFxState other) {
+        return gradingType.equals(other.gradingType) && gradingBlendType.equals(other.gradingBlendType)
+            && gradingBlend == other.gradingBlend;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getGradingType() {
+        return gradingType;
+    }
+
+    public String getGradingBlendType() {
+        return gradingBlendType;
+    }
+
+    public float getGradingBlend() {
+        return gradingBlend;
+    }
+
+    public float getFogDensity() {
+        return fogDensity;
+    }
+}
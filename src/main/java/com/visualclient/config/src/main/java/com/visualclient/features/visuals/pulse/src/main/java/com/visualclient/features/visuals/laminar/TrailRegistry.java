@@ -0,0 +1,237 @@
+package com.visualclient.features.visuals.laminar;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+/**
+ * Trail ribbons keyed by entity id.
+ * Holds ids rather than entities, so nothing is kept alive for unloaded or disconnected
+ * players. Trails are evicted when their entity stops moving or stops being sampled,
+ * moves out of range of the camera, or when the total number of samples across all
+ * trails exceeds the cap, oldest-updated first.
+ */
+public class TrailRegistry {
+    public static final int DEFAULT_SAMPLE_CAP = 4096;
+    public static final int DEFAULT_STATIONARY_TICKS = 60;
+    public static final float DEFAULT_EVICT_DISTANCE = 128f;
+
+    private final Int2ObjectOpenHashMap<Entry> entries = new Int2ObjectOpenHashMap<>();
+
+    // Least recently updated first
+    private Entry lruHead;
+    private Entry lruTail;
+
+    private int sampleCap = DEFAULT_SAMPLE_CAP;
+    private int stationaryTicks = DEFAULT_STATIONARY_TICKS;
+    private float evictDistanceSq = DEFAULT_EVICT_DISTANCE * DEFAULT_EVICT_DISTANCE;
+    private int samples = 0;
+    private long evictedStationary = 0;
+    private long evictedDistance = 0;
+    private long evictedCap = 0;
+
+    /**
+     * Add a sample to an entity's trail, creating the trail on first use
+     */
+    public void add(int entityId, float x, float y, float z, int tick, float width, int color) {
+        Entry entry = entries.get(entityId);
+        if (entry == null) {
+            entry = new Entry(entityId, new TrailRibbon(width, color));
+            entry.lastMovedTick = tick;
+            entries.put(entityId, entry);
+            linkLast(entry);
+        }
+
+        int before = entry.ribbon.size();
+        if (entry.ribbon.append(x, y, z, tick)) {
+            entry.lastMovedTick = tick;
+            if (entry != lruTail) {
+                unlink(entry);
+                linkLast(entry);
+            }
+        }
+        samples += entry.ribbon.size() - before;
+
+        while (samples > sampleCap && lruHead != null) {
+            evictedCap++;
+            remove(lruHead);
+        }
+    }
+
+    /**
+     * Expire old samples and evict stationary, unsampled and empty trails
+     */
+    public void update(int tick, int lifetime) {
+        update(tick, lifetime, false, 0, 0, 0);
+    }
+
+    /**
+     * Same as {@link #update(int, int)}, also evicting trails out of range of the camera
+     */
+    public void update(int tick, int lifetime, double camX, double camY, double camZ) {
+        update(tick, lifetime, true, camX, camY, camZ);
+    }
+
+    private void update(int tick, int lifetime, boolean checkDistance, double camX, double camY, double camZ) {
+        Entry entry = lruHead;
+        while (entry != null) {
+            Entry next = entry.next;
+            TrailRibbon ribbon = entry.ribbon;
+            int before = ribbon.size();
+            ribbon.expire(tick, lifetime);
+            samples -= before - ribbon.size();
+
+            if (tick - entry.lastMovedTick > stationaryTicks) {
+                evictedStationary++;
+                remove(entry);
+            } else if (ribbon.isEmpty()) {
+                remove(entry);
+            } else if (checkDistance) {
+                double dx = ribbon.getHeadX() - camX;
+                double dy = ribbon.getHeadY() - camY;
+                double dz = ribbon.getHeadZ() - camZ;
+                if (dx * dx + dy * dy + dz * dz > evictDistanceSq) {
+                    evictedDistance++;
+                    remove(entry);
+                }
+            }
+            entry = next;
+        }
+    }
+
+    /**
+     * Restyle every trail, e.g. after the trail type changed
+     */
+    public void setStyle(float width, int color) {
+        for (Entry entry = lruHead; entry != null; entry = entry.next) {
+            entry.ribbon.setStyle(width, color);
+        }
+    }
+
+    public void remove(int entityId) {
+        Entry entry = entries.get(entityId);
+        if (entry != null) {
+            remove(entry);
+        }
+    }
+
+    private void remove(Entry entry) {
+        entries.remove(entry.entityId);
+        unlink(entry);
+        samples -= entry.ribbon.size();
+    }
+
+    public void clear() {
+        entries.clear();
+        lruHead = null;
+        lruTail = null;
+        samples = 0;
+    }
+
+    private void linkLast(Entry entry) {
+        entry.prev = lruTail;
+        entry.next = null;
+        if (lruTail != null) {
+            lruTail.next = entry;
+        } else {
+            lruHead = entry;
+        }
+        lruTail = entry;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            lruHead = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        } else {
+            lruTail = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    /**
+     * First trail in least-recently-updated order; walk with {@link Entry#getNext()}
+     */
+    public Entry first() {
+        return lruHead;
+    }
+
+    public TrailRibbon get(int entityId) {
+        Entry entry = entries.get(entityId);
+        return entry != null ? entry.ribbon : null;
+    }
+
+    public void setSampleCap(int cap) {
+        sampleCap = Math.max(TrailRibbon.MAX_SAMPLES, cap);
+    }
+
+    public void setStationaryTicks(int ticks) {
+        stationaryTicks = Math.max(1, ticks);
+    }
+
+    public void setEvictDistance(float distance) {
+        float clamped = Math.max(8f, distance);
+        evictDistanceSq = clamped * clamped;
+    }
+
+    /**
+     * Number of live trails
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Total samples held by all trails
+     */
+    public int getSampleCount() {
+        return samples;
+    }
+
+    public long getEvictedStationaryCount() {
+        return evictedStationary;
+    }
+
+    public long getEvictedDistanceCount() {
+        return evictedDistance;
+    }
+
+    public long getEvictedCapCount() {
+        return evictedCap;
+    }
+
+    /**
+     * One entity's trail and its place in the LRU order
+     */
+    public static class Entry {
+        private final int entityId;
+        private final TrailRibbon ribbon;
+        private int lastMovedTick;
+        private Entry prev;
+        private Entry next;
+
+        Entry(int entityId, TrailRibbon ribbon) {
+            this.entityId = entityId;
+            this.ribbon = ribbon;
+        }
+
+        public int getEntityId() {
+            return entityId;
+        }
+
+        public TrailRibbon getRibbon() {
+            return ribbon;
+        }
+
+        public Entry getNext() {
+            return next;
+        }
+    }
+}
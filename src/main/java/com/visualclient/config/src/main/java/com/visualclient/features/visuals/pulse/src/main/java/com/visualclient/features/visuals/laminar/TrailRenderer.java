@@ -0,0 +1,36 @@
+package com.visualclient.features.visuals.laminar;
+
+import com.visualclient.core.FrameContext;
+import com.visualclient.render.ViewCuller;
+import com.visualclient.render.WorldQuadSink;
+
+/**
+ * Draws trail ribbons as one batch of world quads.
+ * Ribbon edges are precomputed when samples are added, so a frame only culls
+ * each ribbon by its bounds and copies its segments into the sink.
+ */
+public class TrailRenderer {
+    /**
+     * Render every visible ribbon; returns the number of quads emitted
+     */
+    public static int render(TrailRegistry trails, ViewCuller culler, FrameContext context,
+                             int tick, int lifetime) {
+        WorldQuadSink sink = context.getWorldSink();
+        if (sink == null) return 0;
+
+        float camX = (float) context.getCameraX();
+        float camY = (float) context.getCameraY();
+        float camZ = (float) context.getCameraZ();
+        float tickDelta = context.getTickDelta();
+        int quads = 0;
+
+        sink.begin();
+        for (TrailRegistry.Entry entry = trails.first(); entry != null; entry = entry.getNext()) {
+            TrailRibbon ribbon = entry.getRibbon();
+            if (!ribbon.isVisible(culler)) continue;
+            quads += ribbon.emit(sink, camX, camY, camZ, tick, tickDelta, lifetime);
+        }
+        sink.end();
+        return quads;
+    }
+}
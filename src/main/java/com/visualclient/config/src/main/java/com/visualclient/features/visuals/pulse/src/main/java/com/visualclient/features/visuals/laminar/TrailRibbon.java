@@ -0,0 +1,260 @@
+package com.visualclient.features.visuals.laminar;
+
+import com.visualclient.render.ViewCuller;
+import com.visualclient.render.WorldQuadSink;
+
+/**
+ * Trail mesh for one entity: a bounded ring of samples, each with the precomputed
+ * side offset of its ribbon edge. Appending a sample computes one edge pair and
+ * expiring drops pairs from the tail, so the strip is extended and trimmed
+ * incrementally and never rebuilt. Nearly collinear samples are merged into the head.
+ */
+public class TrailRibbon {
+    public static final int MAX_SAMPLES = 64;
+
+    // Samples closer than this are movement jitter
+    private static final float MIN_SEGMENT = 0.05f;
+    // cos of the largest bend merged into a straight run (about 3.6 degrees)
+    private static final float COLLINEAR_COS = 0.998f;
+    // Straight runs are still split at this length, so the fade stays smooth
+    private static final float MAX_MERGED_LENGTH = 4f;
+
+    private final float[] x = new float[MAX_SAMPLES];
+    private final float[] y = new float[MAX_SAMPLES];
+    private final float[] z = new float[MAX_SAMPLES];
+    private final float[] sideX = new float[MAX_SAMPLES];
+    private final float[] sideZ = new float[MAX_SAMPLES];
+    private final int[] birthTick = new int[MAX_SAMPLES];
+    private int head = 0;
+    private int count = 0;
+
+    private float halfWidth;
+    private int color;
+
+    private final float[] bounds = new float[6];
+    private boolean boundsDirty = true;
+    private long appended = 0;
+    private long merged = 0;
+
+    public TrailRibbon(float width, int color) {
+        setStyle(width, color);
+    }
+
+    /**
+     * Change width and color; existing edges are rescaled in place
+     */
+    public void setStyle(float width, int color) {
+        float newHalf = width * 0.5f;
+        if (halfWidth > 0 && newHalf != halfWidth) {
+            float scale = newHalf / halfWidth;
+            for (int i = 0; i < count; i++) {
+                int s = physical(i);
+                sideX[s] *= scale;
+                sideZ[s] *= scale;
+            }
+            boundsDirty = true;
+        }
+        halfWidth = newHalf;
+        this.color = color;
+    }
+
+    /**
+     * Add a sample at the head. Drops the oldest sample when the ring is full.
+     * Returns false if the position did not move far enough to count.
+     */
+    public boolean append(float px, float py, float pz, int tick) {
+        if (count > 0) {
+            int last = physical(count - 1);
+            float dx = px - x[last], dy = py - y[last], dz = pz - z[last];
+            float length = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+            if (length < MIN_SEGMENT) return false;
+
+            if (count >= 2 && tryMerge(last, physical(count - 2), px, py, pz, dx, dy, dz, length, tick)) {
+                return true;
+            }
+        }
+
+        if (count == MAX_SAMPLES) {
+            head = next(head);
+            count--;
+        }
+        int slot = physical(count++);
+        x[slot] = px;
+        y[slot] = py;
+        z[slot] = pz;
+        birthTick[slot] = tick;
+        appended++;
+        boundsDirty = true;
+
+        if (count >= 2) {
+            int previous = physical(count - 2);
+            computeSide(slot, previous);
+            if (count == 2) {
+                // The first sample had no direction yet
+                sideX[previous] = sideX[slot];
+                sideZ[previous] = sideZ[slot];
+            }
+        } else {
+            sideX[slot] = halfWidth;
+            sideZ[slot] = 0f;
+        }
+        return true;
+    }
+
+    /**
+     * Move the head forward instead of appending when it continues a straight run
+     */
+    private boolean tryMerge(int last, int previous, float px, float py, float pz,
+                             float dx, float dy, float dz, float length, int tick) {
+        float ax = x[last] - x[previous], ay = y[last] - y[previous], az = z[last] - z[previous];
+        float runLength = (float) Math.sqrt(ax * ax + ay * ay + az * az);
+        if (runLength + length > MAX_MERGED_LENGTH) return false;
+
+        float cos = (ax * dx + ay * dy + az * dz) / (runLength * length);
+        if (cos < COLLINEAR_COS) return false;
+
+        x[last] = px;
+        y[last] = py;
+        z[last] = pz;
+        birthTick[last] = tick;
+        computeSide(last, previous);
+        merged++;
+        boundsDirty = true;
+        return true;
+    }
+
+    /**
+     * Horizontal half-width offset perpendicular to the segment ending at slot
+     */
+    private void computeSide(int slot, int from) {
+        float dx = x[slot] - x[from];
+        float dz = z[slot] - z[from];
+        float length = (float) Math.sqrt(dx * dx + dz * dz);
+        if (length < 1e-4f) {
+            // Vertical movement: keep the previous orientation
+            sideX[slot] = sideX[from];
+            sideZ[slot] = sideZ[from];
+            return;
+        }
+        sideX[slot] = -dz / length * halfWidth;
+        sideZ[slot] = dx / length * halfWidth;
+    }
+
+    /**
+     * Drop samples older than the lifetime from the tail
+     */
+    public void expire(int tick, int lifetime) {
+        int dropped = 0;
+        while (count > 0 && tick - birthTick[head] >= lifetime) {
+            head = next(head);
+            count--;
+            dropped++;
+        }
+        if (dropped > 0) {
+            boundsDirty = true;
+        }
+    }
+
+    /**
+     * Emit one quad per segment, fading with age; returns the number of quads
+     */
+    public int emit(WorldQuadSink sink, float camX, float camY, float camZ,
+                    int tick, float tickDelta, int lifetime) {
+        if (count < 2) return 0;
+
+        int a = physical(0);
+        int colorA = fade(a, tick, tickDelta, lifetime);
+        for (int i = 1; i < count; i++) {
+            int b = physical(i);
+            int colorB = fade(b, tick, tickDelta, lifetime);
+            float ax = x[a] - camX, ay = y[a] - camY, az = z[a] - camZ;
+            float bx = x[b] - camX, by = y[b] - camY, bz = z[b] - camZ;
+            sink.vertex(ax - sideX[a], ay, az - sideZ[a], colorA);
+            sink.vertex(ax + sideX[a], ay, az + sideZ[a], colorA);
+            sink.vertex(bx + sideX[b], by, bz + sideZ[b], colorB);
+            sink.vertex(bx - sideX[b], by, bz - sideZ[b], colorB);
+            a = b;
+            colorA = colorB;
+        }
+        return count - 1;
+    }
+
+    private int fade(int slot, int tick, float tickDelta, int lifetime) {
+        float life = 1.0f - (tick - birthTick[slot] + tickDelta) / lifetime;
+        int alpha = (int) ((color >>> 24) * Math.max(0f, Math.min(1f, life)));
+        return (alpha << 24) | (color & 0xFFFFFF);
+    }
+
+    /**
+     * Whether the ribbon's bounding box passes the culler
+     */
+    public boolean isVisible(ViewCuller culler) {
+        if (count < 2) return false;
+        if (boundsDirty) {
+            updateBounds();
+        }
+        return culler.isBoxVisible(bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]);
+    }
+
+    private void updateBounds() {
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, minZ = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE, maxZ = -Float.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            int s = physical(i);
+            minX = Math.min(minX, x[s]);
+            minY = Math.min(minY, y[s]);
+            minZ = Math.min(minZ, z[s]);
+            maxX = Math.max(maxX, x[s]);
+            maxY = Math.max(maxY, y[s]);
+            maxZ = Math.max(maxZ, z[s]);
+        }
+        bounds[0] = minX - halfWidth;
+        bounds[1] = minY;
+        bounds[2] = minZ - halfWidth;
+        bounds[3] = maxX + halfWidth;
+        bounds[4] = maxY;
+        bounds[5] = maxZ + halfWidth;
+        boundsDirty = false;
+    }
+
+    public void clear() {
+        head = 0;
+        count = 0;
+        boundsDirty = true;
+    }
+
+    private int physical(int index) {
+        int slot = head + index;
+        return slot >= MAX_SAMPLES ? slot - MAX_SAMPLES : slot;
+    }
+
+    private static int next(int slot) {
+        return slot + 1 == MAX_SAMPLES ? 0 : slot + 1;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Position of the newest sample
+     */
+    public float getHeadX() { return x[physical(count - 1)]; }
+    public float getHeadY() { return y[physical(count - 1)]; }
+    public float getHeadZ() { return z[physical(count - 1)]; }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Samples appended as new points vs. merged into a straight run
+     */
+    public long getAppendedCount() {
+        return appended;
+    }
+
+    public long getMergedCount() {
+        return merged;
+    }
+}
@@ -0,0 +1,26 @@
+package com.visualclient.features.visuals.laminar;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Dedicated daemon worker pool for Laminar's parallel paths (particle integration,
+ * software color grading), created on first use.
+ * Kept apart from the common pool so chat, world loading and other mods never compete with it.
+ */
+final class Workers {
+    static final ForkJoinPool POOL = new ForkJoinPool(
+        Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+        pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("VisualClient-Laminar-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        },
+        null,
+        false
+    );
+
+    private Workers() {
+    }
+}
@@ -0,0 +1,143 @@
+package com.visualclient.features.visuals.opka;
+
+import com.visualclient.render.HudQuadBatch;
+
+/**
+ * Cache of ready-made crosshair quads.
+ * Geometry only depends on shape, size, color and screen center, so it is baked once
+ * per configuration and replayed into the HUD batch as a plain array copy.
+ * Hit-animated spread is served from a small set of pre-baked keyframes.
+ */
+public class CrosshairGeometry {
+    public static final int SPREAD_KEYFRAMES = 5;
+    public static final float MAX_SPREAD = 8.0f;
+    private static final int CIRCLE_SEGMENTS = 36;
+    private static final int THICKNESS = 2;
+
+    // Unit circle, computed once instead of per frame
+    private static final float[] UNIT_COS = new float[CIRCLE_SEGMENTS];
+    private static final float[] UNIT_SIN = new float[CIRCLE_SEGMENTS];
+
+    static {
+        for (int i = 0; i < CIRCLE_SEGMENTS; i++) {
+            double angle = Math.toRadians(i * (360.0 / CIRCLE_SEGMENTS));
+            UNIT_COS[i] = (float) Math.cos(angle);
+            UNIT_SIN[i] = (float) Math.sin(angle);
+        }
+    }
+
+    private final int[][] frames = new int[SPREAD_KEYFRAMES][];
+    private final int[] frameQuads = new int[SPREAD_KEYFRAMES];
+    private final boolean[] baked = new boolean[SPREAD_KEYFRAMES];
+    private int centerX = Integer.MIN_VALUE;
+    private int centerY = Integer.MIN_VALUE;
+    private int circleStep = 1;
+    private long rebuilds = 0;
+    private int version = 0;
+
+    /**
+     * Drop all baked keyframes; call when shape, size or color change
+     */
+    public void invalidate() {
+        version++;
+        for (int i = 0; i < SPREAD_KEYFRAMES; i++) {
+            baked[i] = false;
+        }
+    }
+
+    /**
+     * Use every Nth circle segment; lower quality tiers draw coarser circles
+     */
+    public void setCircleStep(int step) {
+        step = Math.max(1, Math.min(CIRCLE_SEGMENTS / 4, step));
+        if (step == circleStep) return;
+        circleStep = step;
+        invalidate();
+    }
+
+    /**
+     * Queue the crosshair for the current spread into the batch
+     */
+    public void emit(HudQuadBatch batch, String type, float size, int color,
+                     int x, int y, float spread) {
+        // A new center means the window was resized or the GUI scale changed
+        if (x != centerX || y != centerY) {
+            centerX = x;
+            centerY = y;
+            invalidate();
+        }
+
+        int frame = keyframe(spread);
+        if (!baked[frame]) {
+            bake(frame, type, size, color);
+        }
+        batch.addPacked(frames[frame], frameQuads[frame]);
+    }
+
+    /**
+     * Nearest pre-baked keyframe for a spread value
+     */
+    public static int keyframe(float spread) {
+        float t = Math.max(0f, Math.min(1f, spread / MAX_SPREAD));
+        return Math.round(t * (SPREAD_KEYFRAMES - 1));
+    }
+
+    private void bake(int frame, String type, float size, int color) {
+        int gap = Math.round(frame * MAX_SPREAD / (SPREAD_KEYFRAMES - 1));
+        int armLength = (int) (8 * size);
+        int[] out = ensureFrame(frame, CIRCLE_SEGMENTS);
+        int quads = 0;
+        int x = centerX;
+        int y = centerY;
+
+        switch (type) {
+            case "CROSS":
+                if (gap == 0) {
+                    // Render cross (+) shape
+                    HudQuadBatch.pack(out, quads++, x - armLength, y - THICKNESS, x + armLength, y + THICKNESS, color);
+                    HudQuadBatch.pack(out, quads++, x - THICKNESS, y - armLength, x + THICKNESS, y + armLength, color);
+                } else {
+                    // Split the cross into four arms pushed out by the spread
+                    HudQuadBatch.pack(out, quads++, x - armLength - gap, y - THICKNESS, x - gap, y + THICKNESS, color);
+                    HudQuadBatch.pack(out, quads++, x + gap, y - THICKNESS, x + armLength + gap, y + THICKNESS, color);
+                    HudQuadBatch.pack(out, quads++, x - THICKNESS, y - armLength - gap, x + THICKNESS, y - gap, color);
+                    HudQuadBatch.pack(out, quads++, x - THICKNESS, y + gap, x + THICKNESS, y + armLength + gap, color);
+                }
+                break;
+            case "DOT":
+                HudQuadBatch.pack(out, quads++, x - 2, y - 2, x + 2, y + 2, color);
+                break;
+            case "CIRCLE":
+                int radius = armLength / 2 + gap;
+                for (int i = 0; i < CIRCLE_SEGMENTS; i += circleStep) {
+                    int px = (int) (x + radius * UNIT_COS[i]);
+                    int py = (int) (y + radius * UNIT_SIN[i]);
+                    HudQuadBatch.pack(out, quads++, px - 1, py - 1, px + 1, py + 1, color);
+                }
+                break;
+        }
+
+        frameQuads[frame] = quads;
+        baked[frame] = true;
+        rebuilds++;
+    }
+
+    private int[] ensureFrame(int frame, int maxQuads) {
+        int needed = maxQuads * HudQuadBatch.INTS_PER_QUAD;
+        if (frames[frame] == null || frames[frame].length < needed) {
+            frames[frame] = new int[needed];
+        }
+        return frames[frame];
+    }
+
+    /**
+     * Changes whenever the baked geometry is invalidated
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public long getRebuildCount() {
+        return rebuilds;
+    }
+}
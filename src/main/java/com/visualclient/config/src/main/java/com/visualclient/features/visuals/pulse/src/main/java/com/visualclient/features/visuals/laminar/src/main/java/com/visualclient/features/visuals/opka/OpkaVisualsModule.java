@@ -1,19 +1,24 @@
 package com.visualclient.features.visuals.opka;
 
-import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
-import net.minecraft.client.MinecraftClient;
-import net.minecraft.util.math.MathHelper;
+import com.visualclient.core.Animator;
+import com.visualclient.core.Easing;
+import com.visualclient.core.FrameScheduler;
+import com.visualclient.core.VisualModule;
+import com.visualclient.render.DrawSink;
+import com.visualclient.render.HudLayer;
+import com.visualclient.render.HudQuadBatch;
+import com.visualclient.render.HudWidget;
 
 /**
  * OpkaVisuals Module - Hit markers, weapon animations, and customizable crosshair
  */
-public class OpkaVisualsModule {
+public class OpkaVisualsModule implements VisualModule {
     private static boolean enabled = true;
     private static boolean hitMarkerEnabled = true;
     private static int hitMarkerX = 0;
     private static int hitMarkerY = 0;
-    private static int hitMarkerTimer = 0;
-    private static int hitMarkerDuration = 200;
+    private static int screenCenterX = 0;
+    private static int screenCenterY = 0;
     
     private static String crosshairType = "CROSS";
     private static float crosshairSize = 1.0f;
@@ -25,93 +30,103 @@ public class OpkaVisualsModule {
     private static boolean weaponGlowEnabled = false;
     private static float weaponGlowAlpha = 0.5f;
     
-    public OpkaVisualsModule() {
-        registerEventListeners();
+    // All Opka HUD quads for a frame are drawn in one batch.
+    // Allocated by warmUp, released by dispose
+    private static HudQuadBatch hudBatch;
+    private static CrosshairGeometry crosshairGeometry;
+    private static int circleStep = 1;
+    private static final float HIT_MARKER_TICKS = 10f;
+    private static final float SPREAD_RELAX_TICKS = 6f;
+    
+    // Hit marker progress (0 to 1) and crosshair spread run on the shared animator,
+    // in ticks, so they last equally long at any frame rate
+    private static Animator animator;
+    private static int hitMarkerSlot;
+    private static int spreadSlot;
+    
+    public OpkaVisualsModule(FrameScheduler scheduler) {
+        registerTasks(scheduler);
     }
     
-    private void registerEventListeners() {
-        // Register HUD render event for hit marker and crosshair
-        HudRenderCallback.EVENT.register((matrices, tickDelta) -> {
-            if (enabled) {
-                renderHudElements(matrices, tickDelta);
+    private void registerTasks(FrameScheduler scheduler) {
+        // The crosshair is cached in the HUD layer; the hit marker animates every frame
+        HudLayer.addRetained("opka", new CrosshairWidget());
+        HudLayer.addImmediate("opka", new HitMarkerWidget());
+        
+        animator = scheduler.getAnimator();
+        hitMarkerSlot = animator.allocate();
+        spreadSlot = animator.allocate();
+        
+        // Coarser circle crosshair on lower quality tiers
+        circleStep = scheduler.getGovernor().getTier().getCircleStep();
+        scheduler.getGovernor().addListener(tier -> {
+            circleStep = tier.getCircleStep();
+            if (crosshairGeometry != null) {
+                crosshairGeometry.setCircleStep(circleStep);
             }
         });
     }
     
     /**
-     * Trigger hit marker on successful hit
+     * Allocate the quad batch and crosshair geometry cache
      */
-    public static void onHit() {
-        if (!enabled || !hitMarkerEnabled) return;
-        
-        MinecraftClient client = MinecraftClient.getInstance();
-        if (client.getWindow() != null) {
-            hitMarkerX = client.getWindow().getGuiScaledWidth() / 2;
-            hitMarkerY = client.getWindow().getGuiScaledHeight() / 2;
-            hitMarkerTimer = hitMarkerDuration;
-        }
+    @Override
+    public void warmUp() {
+        if (crosshairGeometry != null) return;
         
-        // Animate crosshair on hit
-        if (crosshairAnimateOnHit) {
-            animateCrosshair();
-        }
+        CrosshairGeometry geometry = new CrosshairGeometry();
+        geometry.setCircleStep(circleStep);
+        hudBatch = new HudQuadBatch();
+        crosshairGeometry = geometry;
+    }
+    
+    @Override
+    public void enable() {
+        setEnabled(true);
+    }
+    
+    @Override
+    public void disable() {
+        setEnabled(false);
+    }
+    
+    @Override
+    public void dispose() {
+        setEnabled(false);
+        hudBatch = null;
+        crosshairGeometry = null;
     }
     
     /**
-     * Render hit marker and crosshair on HUD
+     * Trigger hit marker on successful hit
      */
-    private static void renderHudElements(net.minecraft.client.gui.GuiGraphics matrices, float tickDelta) {
-        MinecraftClient client = MinecraftClient.getInstance();
-        if (client.getWindow() == null) return;
-        
-        int centerX = client.getWindow().getGuiScaledWidth() / 2;
-        int centerY = client.getWindow().getGuiScaledHeight() / 2;
+    public static void onHit() {
+        if (!enabled || !hitMarkerEnabled || animator == null) return;
         
-        // Render crosshair
-        renderCrosshair(matrices, centerX, centerY);
+        // Center as of the last HUD frame
+        hitMarkerX = screenCenterX;
+        hitMarkerY = screenCenterY;
+        animator.play(hitMarkerSlot, 0f, 1f, HIT_MARKER_TICKS, Easing.LINEAR);
         
-        // Render hit marker
-        if (hitMarkerTimer > 0) {
-            renderHitMarker(matrices);
-            hitMarkerTimer--;
+        // Animate crosshair on hit
+        if (crosshairAnimateOnHit) {
+            animateCrosshair();
         }
     }
     
     /**
      * Render customizable crosshair
      */
-    private static void renderCrosshair(net.minecraft.client.gui.GuiGraphics matrices, int x, int y) {
-        int size = (int) (8 * crosshairSize);
-        int thickness = 2;
-        
-        switch (crosshairType) {
-            case "CROSS":
-                // Render cross (+) shape
-                matrices.fill(x - size, y - thickness, x + size, y + thickness, crosshairColor);
-                matrices.fill(x - thickness, y - size, x + thickness, y + size, crosshairColor);
-                break;
-            case "DOT":
-                // Render dot
-                matrices.fill(x - 2, y - 2, x + 2, y + 2, crosshairColor);
-                break;
-            case "CIRCLE":
-                // Render circle outline
-                int radius = size / 2;
-                // Simple circle rendering
-                for (int angle = 0; angle < 360; angle += 10) {
-                    int px = (int) (x + radius * Math.cos(Math.toRadians(angle)));
-                    int py = (int) (y + radius * Math.sin(Math.toRadians(angle)));
-                    matrices.fill(px - 1, py - 1, px + 1, py + 1, crosshairColor);
-                }
-                break;
-        }
+    private static void renderCrosshair(HudQuadBatch batch, int x, int y) {
+        // Geometry is baked per configuration; only the spread keyframe varies per frame
+        crosshairGeometry.emit(batch, crosshairType, crosshairSize, crosshairColor, x, y, crosshairSpread);
     }
     
     /**
      * Render animated hit marker
      */
-    private static void renderHitMarker(net.minecraft.client.gui.GuiGraphics matrices) {
-        float progress = 1.0f - ((float) hitMarkerTimer / hitMarkerDuration);
+    private static void renderHitMarker(HudQuadBatch batch) {
+        float progress = animator.getSmooth(hitMarkerSlot);
         int size = (int) (16 * (1.0f - progress * 0.5f));
         int alpha = (int) (255 * (1.0f - progress));
         int color = (alpha << 24) | 0xFF0000;  // Red color
@@ -121,27 +136,27 @@ public class OpkaVisualsModule {
         int thickness = 2;
         
         // Top-left
-        matrices.fill(hitMarkerX - size - offset, hitMarkerY - size - offset, 
+        batch.fill(hitMarkerX - size - offset, hitMarkerY - size - offset, 
                      hitMarkerX - size, hitMarkerY - size + thickness, color);
-        matrices.fill(hitMarkerX - size - offset, hitMarkerY - size - offset, 
+        batch.fill(hitMarkerX - size - offset, hitMarkerY - size - offset, 
                      hitMarkerX - size + thickness, hitMarkerY - size, color);
         
         // Top-right
-        matrices.fill(hitMarkerX + size + offset, hitMarkerY - size - offset, 
+        batch.fill(hitMarkerX + size + offset, hitMarkerY - size - offset, 
                      hitMarkerX + size, hitMarkerY - size + thickness, color);
-        matrices.fill(hitMarkerX + size + offset - thickness, hitMarkerY - size - offset, 
+        batch.fill(hitMarkerX + size + offset - thickness, hitMarkerY - size - offset, 
                      hitMarkerX + size + offset, hitMarkerY - size, color);
         
         // Bottom-left
-        matrices.fill(hitMarkerX - size - offset, hitMarkerY + size + offset, 
+        batch.fill(hitMarkerX - size - offset, hitMarkerY + size + offset, 
                      hitMarkerX - size, hitMarkerY + size - thickness, color);
-        matrices.fill(hitMarkerX - size - offset, hitMarkerY + size + offset - thickness, 
+        batch.fill(hitMarkerX - size - offset, hitMarkerY + size + offset - thickness, 
                      hitMarkerX - size + thickness, hitMarkerY + size + offset, color);
         
         // Bottom-right
-        matrices.fill(hitMarkerX + size + offset, hitMarkerY + size + offset, 
+        batch.fill(hitMarkerX + size + offset, hitMarkerY + size + offset, 
                      hitMarkerX + size, hitMarkerY + size - thickness, color);
-        matrices.fill(hitMarkerX + size + offset - thickness, hitMarkerY + size + offset - thickness, 
+        batch.fill(hitMarkerX + size + offset - thickness, hitMarkerY + size + offset - thickness, 
                      hitMarkerX + size + offset, hitMarkerY + size + offset, color);
     }
     
@@ -149,7 +164,7 @@ public class OpkaVisualsModule {
      * Animate crosshair on hit
      */
     private static void animateCrosshair() {
-        crosshairSpread = 8.0f;
+        animator.play(spreadSlot, CrosshairGeometry.MAX_SPREAD, 0f, SPREAD_RELAX_TICKS, Easing.QUAD_OUT);
     }
     
     /**
@@ -165,14 +180,23 @@ public class OpkaVisualsModule {
     
     public static void setCrosshairType(String type) {
         crosshairType = type;  // CROSS, DOT, CIRCLE
+        invalidateCrosshair();
     }
     
     public static void setCrosshairSize(float size) {
         crosshairSize = Math.max(0.5f, Math.min(2.0f, size));
+        invalidateCrosshair();
     }
     
     public static void setCrosshairColor(int color) {
         crosshairColor = color;
+        invalidateCrosshair();
+    }
+    
+    private static void invalidateCrosshair() {
+        if (crosshairGeometry != null) {
+            crosshairGeometry.invalidate();
+        }
     }
     
     public static void setWeaponAnimType(String type) {
@@ -194,4 +218,92 @@ public class OpkaVisualsModule {
     public static float getCrosshairSize() {
         return crosshairSize;
     }
+    
+    /**
+     * Crosshair, re-rasterized only when its shape, color, center or spread keyframe changes
+     */
+    private static class CrosshairWidget implements HudWidget {
+        private int centerX;
+        private int centerY;
+        private int extent;
+        private int shownKeyframe = -1;
+        private int shownVersion = -1;
+        
+        @Override
+        public boolean update(int screenWidth, int screenHeight, DrawSink sink) {
+            if (!isVisible()) return false;
+            
+            // Hit spread relaxing back to rest
+            crosshairSpread = animator.getSmooth(spreadSlot);
+            
+            centerX = screenWidth / 2;
+            centerY = screenHeight / 2;
+            screenCenterX = centerX;
+            screenCenterY = centerY;
+            extent = (int) (8 * crosshairSize) + (int) CrosshairGeometry.MAX_SPREAD + 3;
+            
+            int keyframe = CrosshairGeometry.keyframe(crosshairSpread);
+            int version = crosshairGeometry.getVersion();
+            boolean changed = keyframe != shownKeyframe || version != shownVersion;
+            shownKeyframe = keyframe;
+            shownVersion = version;
+            return changed;
+        }
+        
+        @Override
+        public boolean isVisible() {
+            return enabled;
+        }
+        
+        @Override
+        public int getX() { return centerX - extent; }
+        
+        @Override
+        public int getY() { return centerY - extent; }
+        
+        @Override
+        public int getWidth() { return extent * 2; }
+        
+        @Override
+        public int getHeight() { return extent * 2; }
+        
+        @Override
+        public void render(DrawSink sink) {
+            renderCrosshair(hudBatch, centerX, centerY);
+            sink.quads(hudBatch);
+        }
+    }
+    
+    /**
+     * Animated hit marker, drawn every frame while active
+     */
+    private static class HitMarkerWidget implements HudWidget {
+        @Override
+        public boolean update(int screenWidth, int screenHeight, DrawSink sink) {
+            return animator.isRunning(hitMarkerSlot);
+        }
+        
+        @Override
+        public boolean isVisible() {
+            return enabled && animator.isRunning(hitMarkerSlot);
+        }
+        
+        @Override
+        public int getX() { return hitMarkerX - 32; }
+        
+        @Override
+        public int getY() { return hitMarkerY - 32; }
+        
+        @Override
+        public int getWidth() { return 64; }
+        
+        @Override
+        public int getHeight() { return 64; }
+        
+        @Override
+        public void render(DrawSink sink) {
+            renderHitMarker(hudBatch);
+            sink.quads(hudBatch);
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package com.visualclient.features.visuals.topka;
+
+import com.visualclient.util.FixedPointFormat;
+
+/**
+ * HUD label that only rebuilds its string when the displayed value changes.
+ * Values are quantized to the displayed precision, so jitter below the last
+ * shown digit never produces a new string; rebuilding writes into a reusable
+ * char buffer with {@link FixedPointFormat}.
+ */
+public class CachedLabel {
+    private final String prefix;
+    private final int decimals;
+    private final char[] buffer;
+    private long shownKey = Long.MIN_VALUE;
+    private String text;
+    private long rebuilds = 0;
+
+    public CachedLabel(String prefix, int decimals) {
+        this.prefix = prefix;
+        this.decimals = decimals;
+        this.buffer = new char[prefix.length() + 24];
+        this.text = prefix;
+    }
+
+    /**
+     * Show a whole number
+     */
+    public String update(long value) {
+        if (value != shownKey) {
+            shownKey = value;
+            int len = FixedPointFormat.write(buffer, 0, prefix);
+            len = FixedPointFormat.writeInt(buffer, len, value);
+            rebuild(len);
+        }
+        return text;
+    }
+
+    /**
+     * Show a decimal value rounded to this label's precision
+     */
+    public String update(double value) {
+        long scaled = FixedPointFormat.quantize(value, decimals);
+        if (scaled != shownKey) {
+            shownKey = scaled;
+            int len = FixedPointFormat.write(buffer, 0, prefix);
+            len = FixedPointFormat.write(buffer, len, scaled, decimals);
+            rebuild(len);
+        }
+        return text;
+    }
+
+    private void rebuild(int len) {
+        text = new String(buffer, 0, len);
+        rebuilds++;
+    }
+
+    public String get() {
+        return text;
+    }
+
+    public long getRebuildCount() {
+        return rebuilds;
+    }
+}
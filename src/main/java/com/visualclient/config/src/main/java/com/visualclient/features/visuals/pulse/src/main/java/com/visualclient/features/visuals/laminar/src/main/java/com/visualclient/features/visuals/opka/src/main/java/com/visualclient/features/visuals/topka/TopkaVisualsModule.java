@@ -1,16 +1,22 @@
 package com.visualclient.features.visuals.topka;
 
-import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
-import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
-import net.minecraft.client.MinecraftClient;
+import com.visualclient.core.Animator;
+import com.visualclient.core.Easing;
+import com.visualclient.core.FrameContext;
+import com.visualclient.core.FrameScheduler;
+import com.visualclient.core.VisualModule;
+import com.visualclient.render.DrawSink;
+import com.visualclient.render.GlyphRunCache;
+import com.visualclient.render.HudLayer;
+import com.visualclient.render.HudWidget;
 
 /**
  * TopkaVisuals Module - Kill combos, target HUD, and premium visual effects
  */
-public class TopkaVisualsModule {
+public class TopkaVisualsModule implements VisualModule {
     private static boolean enabled = true;
     private static int comboCount = 0;
-    private static int lastKillTime = 0;
+    private static long lastKillTime = 0;
     private static final int COMBO_RESET_TIME = 5000;  // 5 seconds
     
     private static boolean showCombo = true;
@@ -18,21 +24,90 @@ public class TopkaVisualsModule {
     private static boolean showSpeedIndicator = true;
     private static boolean smoothAnimations = true;
     private static float hudScale = 1.0f;
+    private static float speedUpdateRate = 10f;  // Hz
+    private static float hudRateScale = 1.0f;
+    private static double displayedSpeed = 0;
+    private static boolean hasSpeedSample = false;
     
-    public TopkaVisualsModule() {
-        registerEventListeners();
+    // HUD strings are only rebuilt when the shown value changes.
+    // Allocated by warmUp, released by dispose
+    private static CachedLabel comboLabel;
+    private static CachedLabel speedLabel;
+    
+    private static final String NO_TARGET_TEXT = "Target: [No Target]";
+    
+    // With smooth animations, the combo counter pops on each kill
+    private static final float COMBO_POP_SCALE = 1.3f;
+    private static final float COMBO_POP_TICKS = 6f;
+    private static Animator animator;
+    private static int comboPopSlot;
+    
+    private static FrameScheduler.Handle tickTask;
+    private static FrameScheduler.Handle speedTask;
+    private static GlyphRunCache glyphRuns;
+    
+    public TopkaVisualsModule(FrameScheduler scheduler) {
+        registerTasks(scheduler);
     }
     
-    private void registerEventListeners() {
-        // Register HUD render for combo and target displays
-        HudRenderCallback.EVENT.register((matrices, tickDelta) -> {
-            if (enabled) {
-                renderTopkaHud(matrices, tickDelta);
-            }
+    private void registerTasks(FrameScheduler scheduler) {
+        // Ordered, measured text runs are cached by the HUD sink and shared by every Topka widget
+        glyphRuns = scheduler.getGuiSink().getGlyphRunCache();
+        
+        animator = scheduler.getAnimator();
+        comboPopSlot = animator.allocate();
+        animator.set(comboPopSlot, 1.0f);
+        
+        // Combo, speed and target displays are cached in the HUD layer
+        HudLayer.addRetained("topka", new ComboWidget());
+        HudLayer.addRetained("topka", new SpeedWidget());
+        HudLayer.addRetained("topka", new TargetWidget());
+        
+        // Tick task for combo timeouts
+        tickTask = scheduler.register("topka", FrameScheduler.Phase.TICK, FrameScheduler.PRIORITY_NORMAL,
+            context -> onClientTick());
+        
+        // Speed is sampled at a fixed rate, so the indicator only changes a few times per second
+        speedTask = scheduler.register("topka-speed", FrameScheduler.Phase.HUD, FrameScheduler.PRIORITY_EARLY,
+            speedUpdateRate, TopkaVisualsModule::sampleSpeed);
+        
+        tickTask.setEnabled(enabled);
+        speedTask.setEnabled(enabled && showSpeedIndicator);
+        
+        // Sample speed less often on lower quality tiers
+        scheduler.getGovernor().addListener(tier -> {
+            hudRateScale = tier.getHudRateScale();
+            speedTask.setRate(speedUpdateRate * hudRateScale);
         });
+    }
+    
+    /**
+     * Allocate the label caches
+     */
+    @Override
+    public void warmUp() {
+        if (comboLabel != null) return;
         
-        // Register tick event for animations
-        ClientTickEvents.END_CLIENT_TICK.register(client -> onClientTick());
+        speedLabel = new CachedLabel("Speed: ", 2);
+        comboLabel = new CachedLabel("COMBO x", 0);
+    }
+    
+    @Override
+    public void enable() {
+        setEnabled(true);
+    }
+    
+    @Override
+    public void disable() {
+        setEnabled(false);
+    }
+    
+    @Override
+    public void dispose() {
+        setEnabled(false);
+        hasSpeedSample = false;
+        comboLabel = null;
+        speedLabel = null;
     }
     
     /**
@@ -51,46 +126,10 @@ public class TopkaVisualsModule {
         }
         
         lastKillTime = currentTime;
-    }
-    
-    /**
-     * Render all Topka HUD elements
-     */
-    private static void renderTopkaHud(net.minecraft.client.gui.GuiGraphics matrices, float tickDelta) {
-        MinecraftClient client = MinecraftClient.getInstance();
-        if (client.getWindow() == null) return;
-        
-        int x = 10;
-        int y = 20;
-        
-        // Render combo counter
-        if (showCombo && comboCount > 0) {
-            renderComboCounter(matrices, x, y);
-        }
         
-        // Render speed indicator
-        if (showSpeedIndicator) {
-            renderSpeedIndicator(matrices, client.getWindow().getGuiScaledWidth() - 100, 20);
+        if (smoothAnimations && animator != null) {
+            animator.play(comboPopSlot, COMBO_POP_SCALE, 1.0f, COMBO_POP_TICKS, Easing.BACK_OUT);
         }
-        
-        // Render target HUD
-        if (showTargetHud) {
-            renderTargetHud(matrices, client.getWindow().getGuiScaledWidth() / 2 - 50, 
-                          client.getWindow().getGuiScaledHeight() - 120);
-        }
-    }
-    
-    /**
-     * Render kill combo counter with animations
-     */
-    private static void renderComboCounter(net.minecraft.client.gui.GuiGraphics matrices, int x, int y) {
-        String comboText = "COMBO x" + comboCount;
-        int color = getComboColor();
-        
-        // Render shadow
-        matrices.drawString(MinecraftClient.getInstance().textRenderer, comboText, x + 2, y + 2, 0xFF000000, false);
-        // Render text
-        matrices.drawString(MinecraftClient.getInstance().textRenderer, comboText, x, y, color, false);
     }
     
     /**
@@ -103,35 +142,21 @@ public class TopkaVisualsModule {
     }
     
     /**
-     * Render speed/strafe indicator
+     * Sample horizontal player speed for the speed indicator
      */
-    private static void renderSpeedIndicator(net.minecraft.client.gui.GuiGraphics matrices, int x, int y) {
-        MinecraftClient client = MinecraftClient.getInstance();
-        if (client.player == null) return;
-        
-        double speed = Math.sqrt(
-            client.player.getVelocity().x * client.player.getVelocity().x + 
-            client.player.getVelocity().z * client.player.getVelocity().z
-        );
+    private static void sampleSpeed(FrameContext context) {
+        if (!context.hasPlayer()) return;
         
-        String speedText = "Speed: " + String.format("%.2f", speed);
-        matrices.drawString(client.textRenderer, speedText, x, y, 0xFF00FF00, false);
-    }
-    
-    /**
-     * Render minimalist target HUD showing attacked entity info
-     */
-    private static void renderTargetHud(net.minecraft.client.gui.GuiGraphics matrices, int x, int y) {
-        // This would display player info when targeting
-        matrices.drawString(MinecraftClient.getInstance().textRenderer, "Target: [No Target]", x, y, 0xFF00FF00, false);
+        double vx = context.getPlayerVelocityX();
+        double vz = context.getPlayerVelocityZ();
+        displayedSpeed = Math.sqrt(vx * vx + vz * vz);
+        hasSpeedSample = true;
     }
     
     /**
      * Handle tick-based updates and resets
      */
     private static void onClientTick() {
-        if (!enabled) return;
-        
         long currentTime = System.currentTimeMillis();
         
         // Reset combo if timeout exceeded
@@ -145,6 +170,10 @@ public class TopkaVisualsModule {
      */
     public static void setEnabled(boolean value) {
         enabled = value;
+        if (tickTask != null) {
+            tickTask.setEnabled(value);
+            speedTask.setEnabled(value && showSpeedIndicator);
+        }
         if (!enabled) {
             comboCount = 0;
         }
@@ -160,10 +189,23 @@ public class TopkaVisualsModule {
     
     public static void setShowSpeedIndicator(boolean value) {
         showSpeedIndicator = value;
+        if (speedTask != null) {
+            speedTask.setEnabled(enabled && value);
+        }
+    }
+    
+    public static void setSpeedUpdateRate(float rateHz) {
+        speedUpdateRate = Math.max(1f, Math.min(60f, rateHz));
+        if (speedTask != null) {
+            speedTask.setRate(speedUpdateRate * hudRateScale);
+        }
     }
     
     public static void setSmoothAnimations(boolean value) {
         smoothAnimations = value;
+        if (!value && animator != null) {
+            animator.set(comboPopSlot, 1.0f);
+        }
     }
     
     public static void setHudScale(float scale) {
@@ -177,4 +219,140 @@ public class TopkaVisualsModule {
     public static int getComboCount() {
         return comboCount;
     }
+    
+    public static GlyphRunCache getGlyphRunCache() {
+        return glyphRuns;
+    }
+    
+    /**
+     * Single line of HUD text, re-rasterized only when its string, color or scale changes.
+     * Strings come from {@link CachedLabel}, so an unchanged value keeps the same instance.
+     */
+    private abstract static class TextWidget implements HudWidget {
+        protected int x;
+        protected int y;
+        protected String text = "";
+        protected int color;
+        protected int shadowOffset;
+        private boolean visible;
+        private int width;
+        private int height;
+        private String shownText;
+        private int shownColor;
+        private float shownScale;
+        private float shownPop;
+        
+        /**
+         * Set position, text and color for this frame; return whether the widget is shown
+         */
+        protected abstract boolean refresh(int screenWidth, int screenHeight);
+        
+        /**
+         * Extra scale applied at draw time only; the cached run stays keyed on hudScale
+         */
+        protected float pop() {
+            return 1.0f;
+        }
+        
+        @Override
+        public boolean update(int screenWidth, int screenHeight, DrawSink sink) {
+            visible = refresh(screenWidth, screenHeight);
+            if (!visible) return false;
+            
+            float pop = pop();
+            width = (int) Math.ceil(sink.textWidth(text, hudScale) * pop) + shadowOffset;
+            height = (int) Math.ceil(sink.lineHeight() * hudScale * pop) + shadowOffset;
+            
+            boolean changed = text != shownText || color != shownColor || hudScale != shownScale || pop != shownPop;
+            shownText = text;
+            shownColor = color;
+            shownScale = hudScale;
+            shownPop = pop;
+            return changed;
+        }
+        
+        @Override
+        public boolean isVisible() {
+            return visible;
+        }
+        
+        @Override
+        public int getX() { return x; }
+        
+        @Override
+        public int getY() { return y; }
+        
+        @Override
+        public int getWidth() { return width; }
+        
+        @Override
+        public int getHeight() { return height; }
+        
+        @Override
+        public void render(DrawSink sink) {
+            // Shadow and text are drawn from the same cached layout
+            if (shownPop != 1.0f) {
+                sink.text(text, x, y, color, 0xFF000000, shadowOffset, shownScale, shownPop);
+            } else {
+                sink.text(text, x, y, color, 0xFF000000, shadowOffset, shownScale);
+            }
+        }
+    }
+    
+    /**
+     * Kill combo counter
+     */
+    private static class ComboWidget extends TextWidget {
+        ComboWidget() {
+            shadowOffset = 2;
+        }
+        
+        @Override
+        protected boolean refresh(int screenWidth, int screenHeight) {
+            if (!enabled || !showCombo || comboCount <= 0) return false;
+            x = 10;
+            y = 20;
+            text = comboLabel.update(comboCount);
+            color = getComboColor();
+            return true;
+        }
+        
+        @Override
+        protected float pop() {
+            return animator.getSmooth(comboPopSlot);
+        }
+    }
+    
+    /**
+     * Speed/strafe indicator
+     */
+    private static class SpeedWidget extends TextWidget {
+        @Override
+        protected boolean refresh(int screenWidth, int screenHeight) {
+            if (!enabled || !showSpeedIndicator || !hasSpeedSample) return false;
+            
+            x = screenWidth - 100;
+            y = 20;
+            text = speedLabel.update(displayedSpeed);
+            color = 0xFF00FF00;
+            return true;
+        }
+    }
+    
+    /**
+     * Minimalist target HUD showing attacked entity info
+     */
+    private static class TargetWidget extends TextWidget {
+        @Override
+        protected boolean refresh(int screenWidth, int screenHeight) {
+            if (!enabled || !showTargetHud) return false;
+            
+            // This would display player info when targeting
+            x = screenWidth / 2 - 50;
+            y = screenHeight - 120;
+            text = NO_TARGET_TEXT;
+            color = 0xFF00FF00;
+            return true;
+        }
+    }
 }
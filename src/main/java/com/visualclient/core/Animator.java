@@ -0,0 +1,168 @@
+package com.visualclient.core;
+
+import java.util.Arrays;
+
+/**
+ * Shared tween engine for all modules.
+ * Tweens live in slots of parallel primitive arrays; a module allocates its slots once
+ * and replays them, so starting an animation allocates nothing. Running tweens are kept
+ * in a dense list and advanced in one pass per client tick. Durations are in ticks,
+ * and {@link #getSmooth} interpolates to the current frame for rendering.
+ */
+public class Animator {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private float[] from = new float[INITIAL_CAPACITY];
+    private float[] delta = new float[INITIAL_CAPACITY];
+    private float[] elapsed = new float[INITIAL_CAPACITY];
+    private float[] duration = new float[INITIAL_CAPACITY];
+    private float[] value = new float[INITIAL_CAPACITY];
+    private int[] easingBase = new int[INITIAL_CAPACITY];
+    // Position of each slot in the running list, -1 when idle
+    private int[] runningIndex = new int[INITIAL_CAPACITY];
+    private int[] running = new int[INITIAL_CAPACITY];
+    private int runningCount = 0;
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeCount = 0;
+    private int slotCount = 0;
+    private float partialTick = 0f;
+
+    /**
+     * Advance tweens first thing every tick and track the partial tick for HUD frames
+     */
+    public void install(FrameScheduler scheduler) {
+        scheduler.register("animations", FrameScheduler.Phase.TICK, FrameScheduler.PRIORITY_EARLY - 1,
+            context -> advance(1f));
+        scheduler.register("animations", FrameScheduler.Phase.HUD, FrameScheduler.PRIORITY_EARLY - 1,
+            context -> partialTick = context.getTickDelta());
+    }
+
+    /**
+     * Reserve a slot; it holds 0 until played or set
+     */
+    public int allocate() {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            slot = slotCount++;
+            if (slot == value.length) {
+                grow(value.length * 2);
+            }
+        }
+        value[slot] = 0f;
+        runningIndex[slot] = -1;
+        return slot;
+    }
+
+    public void free(int slot) {
+        stop(slot);
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void grow(int capacity) {
+        from = Arrays.copyOf(from, capacity);
+        delta = Arrays.copyOf(delta, capacity);
+        elapsed = Arrays.copyOf(elapsed, capacity);
+        duration = Arrays.copyOf(duration, capacity);
+        value = Arrays.copyOf(value, capacity);
+        easingBase = Arrays.copyOf(easingBase, capacity);
+        runningIndex = Arrays.copyOf(runningIndex, capacity);
+        running = Arrays.copyOf(running, capacity);
+    }
+
+    /**
+     * Animate a slot from one value to another, restarting it if it is already running
+     */
+    public void play(int slot, float start, float end, float durationTicks, Easing easing) {
+        if (durationTicks <= 0f) {
+            set(slot, end);
+            return;
+        }
+
+        from[slot] = start;
+        delta[slot] = end - start;
+        elapsed[slot] = 0f;
+        duration[slot] = durationTicks;
+        easingBase[slot] = easing.ordinal() * Easing.STRIDE;
+        value[slot] = start;
+        if (runningIndex[slot] < 0) {
+            runningIndex[slot] = runningCount;
+            running[runningCount++] = slot;
+        }
+    }
+
+    /**
+     * Stop a slot and hold it at a value
+     */
+    public void set(int slot, float target) {
+        stop(slot);
+        value[slot] = target;
+    }
+
+    /**
+     * Stop a slot where it is
+     */
+    public void stop(int slot) {
+        int index = runningIndex[slot];
+        if (index < 0) return;
+
+        // Swap-remove from the running list
+        int last = running[--runningCount];
+        running[index] = last;
+        runningIndex[last] = index;
+        runningIndex[slot] = -1;
+    }
+
+    /**
+     * Step every running tween; finished ones land exactly on their end value
+     */
+    public void advance(float ticks) {
+        int i = 0;
+        while (i < runningCount) {
+            int slot = running[i];
+            float t = elapsed[slot] + ticks;
+            elapsed[slot] = t;
+            float d = duration[slot];
+            if (t >= d) {
+                value[slot] = from[slot] + delta[slot];
+                stop(slot);
+                // The last running slot was swapped into i
+                continue;
+            }
+            value[slot] = from[slot] + delta[slot] * Easing.lookup(easingBase[slot], t / d);
+            i++;
+        }
+    }
+
+    /**
+     * Value as of the last tick
+     */
+    public float get(int slot) {
+        return value[slot];
+    }
+
+    /**
+     * Value interpolated to the current frame, for drawing
+     */
+    public float getSmooth(int slot) {
+        if (runningIndex[slot] < 0) return value[slot];
+        float t = Math.min(1f, (elapsed[slot] + partialTick) / duration[slot]);
+        return from[slot] + delta[slot] * Easing.lookup(easingBase[slot], t);
+    }
+
+    public boolean isRunning(int slot) {
+        return runningIndex[slot] >= 0;
+    }
+
+    public int getRunningCount() {
+        return runningCount;
+    }
+
+    public int getSlotCount() {
+        return slotCount - freeCount;
+    }
+}
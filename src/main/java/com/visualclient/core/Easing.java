@@ -0,0 +1,67 @@
+package com.visualclient.core;
+
+/**
+ * Easing curves, sampled once into a shared table and read back with linear interpolation.
+ * All curves go from 0 at t = 0 to 1 at t = 1; BACK_OUT overshoots in between.
+ */
+public enum Easing {
+    LINEAR,
+    QUAD_IN,
+    QUAD_OUT,
+    CUBIC_OUT,
+    SINE_IN_OUT,
+    EXPO_OUT,
+    BACK_OUT;
+
+    static final int SAMPLES = 256;
+    static final int STRIDE = SAMPLES + 1;
+    private static final Easing[] VALUES = values();
+
+    // Every curve back to back, so the animator can index by ordinal without an enum lookup
+    static final float[] TABLE = new float[VALUES.length * STRIDE];
+
+    static {
+        for (Easing easing : VALUES) {
+            int base = easing.ordinal() * STRIDE;
+            for (int i = 0; i <= SAMPLES; i++) {
+                TABLE[base + i] = (float) easing.curve(i / (double) SAMPLES);
+            }
+        }
+    }
+
+    private double curve(double t) {
+        switch (this) {
+            case QUAD_IN:
+                return t * t;
+            case QUAD_OUT:
+                return 1 - (1 - t) * (1 - t);
+            case CUBIC_OUT:
+                return 1 - Math.pow(1 - t, 3);
+            case SINE_IN_OUT:
+                return -(Math.cos(Math.PI * t) - 1) / 2;
+            case EXPO_OUT:
+                return t >= 1 ? 1 : 1 - Math.pow(2, -10 * t);
+            case BACK_OUT:
+                double c1 = 1.70158;
+                return 1 + (c1 + 1) * Math.pow(t - 1, 3) + c1 * Math.pow(t - 1, 2);
+            default:
+                return t;
+        }
+    }
+
+    /**
+     * Eased value for progress t in [0, 1]
+     */
+    public float apply(float t) {
+        return lookup(ordinal() * STRIDE, t);
+    }
+
+    static float lookup(int base, float t) {
+        if (t <= 0f) return TABLE[base];
+        if (t >= 1f) return TABLE[base + SAMPLES];
+        float position = t * SAMPLES;
+        int index = (int) position;
+        float a = TABLE[base + index];
+        return a + (TABLE[base + index + 1] - a) * (position - index);
+    }
+}
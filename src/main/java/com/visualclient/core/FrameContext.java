@@ -0,0 +1,159 @@
+package com.visualclient.core;
+
+import com.visualclient.render.DrawSink;
+import com.visualclient.render.WorldQuadSink;
+import net.minecraft.client.MinecraftClient;
+
+/**
+ * Per-dispatch state handed to scheduled tasks.
+ * One instance is reused for every dispatch, so tasks must not keep a reference to it.
+ * {@link FrameScheduler} fills it from the game; the setters let headless replays
+ * drive the same tasks without a running client.
+ */
+public class FrameContext {
+    private MinecraftClient client;
+    private DrawSink sink;
+    private WorldQuadSink worldSink;
+    private float tickDelta;
+    private int screenWidth;
+    private int screenHeight;
+    private long frameNanos;
+    private QualityTier qualityTier = QualityTier.ULTRA;
+
+    private double cameraX;
+    private double cameraY;
+    private double cameraZ;
+    private float cameraYaw;
+    private float cameraPitch;
+    private float cameraFov = 70f;
+    private float cameraAspect = 16f / 9f;
+    private int viewportHeight = 1080;
+
+    private boolean playerPresent;
+    private double playerVelocityX;
+    private double playerVelocityY;
+    private double playerVelocityZ;
+
+    /**
+     * The game client, or null in headless runs
+     */
+    public MinecraftClient getClient() {
+        return client;
+    }
+
+    public void setClient(MinecraftClient client) {
+        this.client = client;
+    }
+
+    /**
+     * HUD draw target, set during the HUD phase
+     */
+    public DrawSink getSink() {
+        return sink;
+    }
+
+    public void setSink(DrawSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * World quad target, set during the world render phase
+     */
+    public WorldQuadSink getWorldSink() {
+        return worldSink;
+    }
+
+    public void setWorldSink(WorldQuadSink worldSink) {
+        this.worldSink = worldSink;
+    }
+
+    public float getTickDelta() {
+        return tickDelta;
+    }
+
+    public void setTickDelta(float tickDelta) {
+        this.tickDelta = tickDelta;
+    }
+
+    /**
+     * GUI-scaled screen size, set during the HUD phase
+     */
+    public int getScreenWidth() {
+        return screenWidth;
+    }
+
+    public int getScreenHeight() {
+        return screenHeight;
+    }
+
+    public void setScreenSize(int width, int height) {
+        this.screenWidth = width;
+        this.screenHeight = height;
+    }
+
+    /**
+     * System.nanoTime at the start of this dispatch
+     */
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+
+    void setFrameNanos(long frameNanos) {
+        this.frameNanos = frameNanos;
+    }
+
+    /**
+     * Effect quality currently chosen by the {@link QualityGovernor}
+     */
+    public QualityTier getQualityTier() {
+        return qualityTier;
+    }
+
+    public void setQualityTier(QualityTier qualityTier) {
+        this.qualityTier = qualityTier;
+    }
+
+    /**
+     * Camera position and orientation, set during the world render phase
+     */
+    public double getCameraX() { return cameraX; }
+    public double getCameraY() { return cameraY; }
+    public double getCameraZ() { return cameraZ; }
+    public float getCameraYaw() { return cameraYaw; }
+    public float getCameraPitch() { return cameraPitch; }
+    public float getCameraFov() { return cameraFov; }
+    public float getCameraAspect() { return cameraAspect; }
+    public int getViewportHeight() { return viewportHeight; }
+
+    public void setCamera(double x, double y, double z, float yaw, float pitch) {
+        this.cameraX = x;
+        this.cameraY = y;
+        this.cameraZ = z;
+        this.cameraYaw = yaw;
+        this.cameraPitch = pitch;
+    }
+
+    /**
+     * Vertical field of view in degrees, viewport aspect ratio and framebuffer height in pixels
+     */
+    public void setProjection(float fov, float aspect, int viewportHeight) {
+        this.cameraFov = fov;
+        this.cameraAspect = aspect;
+        this.viewportHeight = viewportHeight;
+    }
+
+    /**
+     * Local player velocity, valid when {@link #hasPlayer()} is true
+     */
+    public boolean hasPlayer() { return playerPresent; }
+    public double getPlayerVelocityX() { return playerVelocityX; }
+    public double getPlayerVelocityY() { return playerVelocityY; }
+    public double getPlayerVelocityZ() { return playerVelocityZ; }
+
+    public void setPlayer(boolean present, double velocityX, double velocityY, double velocityZ) {
+        this.playerPresent = present;
+        this.playerVelocityX = velocityX;
+        this.playerVelocityY = velocityY;
+        this.playerVelocityZ = velocityZ;
+    }
+}
@@ -0,0 +1,195 @@
+package com.visualclient.core;
+
+import com.sun.management.ThreadMXBean;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frame-time instrumentation for {@link FrameScheduler}.
+ * When enabled, every task run and every phase dispatch is timed with System.nanoTime
+ * into a {@link TimingRing}, and allocation per dispatch is read from ThreadMXBean.
+ * HUD widgets all run inside one layer task, so their work is also timed per owning
+ * module (see {@link #getHudTimes}).
+ * When disabled, dispatch checks a single flag and takes the uninstrumented path.
+ */
+public class FrameProfiler {
+    public static final int WINDOW = 256;
+
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final boolean allocationSupported;
+    private final List<FrameScheduler.Handle> tasks = new ArrayList<>();
+    private final TimingRing[] phaseTimes = new TimingRing[FrameScheduler.Phase.values().length];
+    private final TimingRing[] phaseAllocations = new TimingRing[FrameScheduler.Phase.values().length];
+    // Owner -> HUD widget time per frame, in registration order; guarded by itself
+    private final Map<String, TimingRing> hudTimes = new LinkedHashMap<>();
+    private volatile boolean enabled = false;
+
+    // Allocation rate over the interval between two refresh() calls
+    private long allocatedSinceRefresh = 0;
+    private long lastRefreshNanos = 0;
+    private long allocationRate = 0;
+
+    public FrameProfiler() {
+        boolean supported = threads.isThreadAllocatedMemorySupported();
+        if (supported && !threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        allocationSupported = supported;
+        for (int i = 0; i < phaseTimes.length; i++) {
+            phaseTimes[i] = new TimingRing(WINDOW);
+            phaseAllocations[i] = new TimingRing(WINDOW);
+        }
+    }
+
+    void track(FrameScheduler.Handle handle) {
+        tasks.add(handle);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start or stop collecting; starting drops samples from the previous session
+     */
+    public void setEnabled(boolean value) {
+        if (value && !enabled) {
+            reset();
+        }
+        enabled = value;
+    }
+
+    public void reset() {
+        for (FrameScheduler.Handle handle : tasks) {
+            handle.getTimings().clear();
+        }
+        for (int i = 0; i < phaseTimes.length; i++) {
+            phaseTimes[i].clear();
+            phaseAllocations[i].clear();
+        }
+        synchronized (hudTimes) {
+            for (TimingRing ring : hudTimes.values()) {
+                ring.clear();
+            }
+        }
+        allocatedSinceRefresh = 0;
+        lastRefreshNanos = System.nanoTime();
+        allocationRate = 0;
+    }
+
+    /**
+     * Bytes allocated so far by the calling thread, or 0 if the JVM cannot tell
+     */
+    long allocatedBytes() {
+        return allocationSupported ? threads.getCurrentThreadAllocatedBytes() : 0L;
+    }
+
+    void recordPhase(FrameScheduler.Phase phase, long nanos, long allocated) {
+        phaseTimes[phase.ordinal()].record(nanos);
+        phaseAllocations[phase.ordinal()].record(allocated);
+        allocatedSinceRefresh += allocated;
+    }
+
+    /**
+     * Recompute the allocation rate from everything allocated during dispatch since the last call
+     */
+    public void refresh() {
+        long now = System.nanoTime();
+        long elapsed = now - lastRefreshNanos;
+        if (elapsed > 0) {
+            allocationRate = allocatedSinceRefresh * 1_000_000_000L / elapsed;
+        }
+        allocatedSinceRefresh = 0;
+        lastRefreshNanos = now;
+    }
+
+    /**
+     * Bytes per second allocated by scheduled work, as of the last {@link #refresh()}
+     */
+    public long getAllocationRate() {
+        return allocationRate;
+    }
+
+    public boolean isAllocationSupported() {
+        return allocationSupported;
+    }
+
+    public List<FrameScheduler.Handle> getTasks() {
+        return tasks;
+    }
+
+    public TimingRing getPhaseTimes(FrameScheduler.Phase phase) {
+        return phaseTimes[phase.ordinal()];
+    }
+
+    public TimingRing getPhaseAllocations(FrameScheduler.Phase phase) {
+        return phaseAllocations[phase.ordinal()];
+    }
+
+    /**
+     * Per-frame update and render time of all HUD widgets of one module, created on first use
+     */
+    public TimingRing getHudTimes(String owner) {
+        synchronized (hudTimes) {
+            return hudTimes.computeIfAbsent(owner, key -> new TimingRing(WINDOW));
+        }
+    }
+
+    /**
+     * Modules with HUD widget timings, in registration order
+     */
+    public List<String> getHudOwners() {
+        synchronized (hudTimes) {
+            return new ArrayList<>(hudTimes.keySet());
+        }
+    }
+
+    /**
+     * Write the current windows as CSV: one row per phase, one per task, then one per
+     * module with HUD widgets.
+     * Only reads the rings, so it may run off the render thread.
+     */
+    public void writeCsv(Path file) throws IOException {
+        long[] scratch = new long[WINDOW];
+        TimingRing.Stats time = new TimingRing.Stats();
+        TimingRing.Stats alloc = new TimingRing.Stats();
+
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("owner,phase,samples,p50_ns,p99_ns,max_ns,mean_ns,mean_alloc_bytes\n");
+            for (FrameScheduler.Phase phase : FrameScheduler.Phase.values()) {
+                getPhaseTimes(phase).summarize(scratch, time);
+                getPhaseAllocations(phase).summarize(scratch, alloc);
+                writeRow(out, "*", phase, time, Long.toString(alloc.mean));
+            }
+            for (FrameScheduler.Handle handle : tasks) {
+                handle.getTimings().summarize(scratch, time);
+                if (time.count == 0) continue;
+                writeRow(out, handle.getOwner(), handle.getPhase(), time, "");
+            }
+            for (String owner : getHudOwners()) {
+                getHudTimes(owner).summarize(scratch, time);
+                if (time.count == 0) continue;
+                writeRow(out, owner, FrameScheduler.Phase.HUD, time, "");
+            }
+            out.write("# allocation_rate_bytes_per_s," + allocationRate + "\n");
+        }
+    }
+
+    private static void writeRow(Writer out, String owner, FrameScheduler.Phase phase,
+                                 TimingRing.Stats stats, String alloc) throws IOException {
+        out.write(owner + "," + phase + "," + stats.count + "," + stats.p50 + "," + stats.p99 + ","
+            + stats.max + "," + stats.mean + "," + alloc + "\n");
+    }
+}
@@ -0,0 +1,279 @@
+package com.visualclient.core;
+
+import com.visualclient.render.GuiGraphicsSink;
+import com.visualclient.render.VertexConsumerSink;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.render.Camera;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * Central dispatcher for all module work.
+ * Registers one listener per Fabric event and runs module tasks in priority order,
+ * with optional rate limits. Disabled tasks are removed from the dispatch list
+ * rather than checked every frame.
+ */
+public class FrameScheduler {
+    public static final int PRIORITY_EARLY = -100;
+    public static final int PRIORITY_NORMAL = 0;
+    public static final int PRIORITY_LATE = 100;
+
+    public enum Phase {
+        TICK,
+        WORLD_RENDER,
+        HUD
+    }
+
+    /**
+     * Work run by the scheduler in one phase
+     */
+    @FunctionalInterface
+    public interface Task {
+        void run(FrameContext context);
+    }
+
+    private static final Handle[] NO_HANDLES = new Handle[0];
+
+    private final List<Handle> registered = new ArrayList<>();
+    private final Handle[][] active = new Handle[Phase.values().length][];
+    private final FrameContext context = new FrameContext();
+    private final GuiGraphicsSink guiSink = new GuiGraphicsSink();
+    private final VertexConsumerSink worldSink = new VertexConsumerSink();
+    private final FrameProfiler profiler = new FrameProfiler();
+    private final QualityGovernor governor = new QualityGovernor();
+    private final Animator animator = new Animator();
+    private boolean installed = false;
+
+    public FrameScheduler() {
+        for (int i = 0; i < active.length; i++) {
+            active[i] = NO_HANDLES;
+        }
+        governor.install(this);
+        animator.install(this);
+    }
+
+    /**
+     * Hook the scheduler into the Fabric events; called once from VisualClientMod
+     */
+    public void install() {
+        if (installed) return;
+        installed = true;
+
+        ClientTickEvents.END_CLIENT_TICK.register(client -> {
+            prepare(client, 0f);
+            dispatch(Phase.TICK, context);
+        });
+
+        WorldRenderEvents.AFTER_TRANSLUCENT.register(worldContext -> {
+            MinecraftClient client = MinecraftClient.getInstance();
+            prepare(client, worldContext.tickCounter().getTickDelta(false));
+            Camera camera = worldContext.camera();
+            Vec3d pos = camera.getPos();
+            context.setCamera(pos.x, pos.y, pos.z, camera.getYaw(), camera.getPitch());
+            int height = Math.max(1, client.getWindow().getFramebufferHeight());
+            context.setProjection(client.options.getFov().getValue(),
+                client.getWindow().getFramebufferWidth() / (float) height, height);
+            if (worldContext.consumers() != null) {
+                worldSink.setContext(worldContext);
+                context.setWorldSink(worldSink);
+            }
+            dispatch(Phase.WORLD_RENDER, context);
+        });
+
+        HudRenderCallback.EVENT.register((matrices, tickDelta) -> {
+            MinecraftClient client = MinecraftClient.getInstance();
+            if (client.getWindow() == null) return;
+
+            prepare(client, tickDelta);
+            context.setScreenSize(client.getWindow().getGuiScaledWidth(), client.getWindow().getGuiScaledHeight());
+            guiSink.setGraphics(matrices);
+            context.setSink(guiSink);
+            dispatch(Phase.HUD, context);
+        });
+    }
+
+    private void prepare(MinecraftClient client, float tickDelta) {
+        context.setClient(client);
+        context.setTickDelta(tickDelta);
+        context.setSink(null);
+        context.setWorldSink(null);
+        if (client.player != null) {
+            Vec3d velocity = client.player.getVelocity();
+            context.setPlayer(true, velocity.x, velocity.y, velocity.z);
+        } else {
+            context.setPlayer(false, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Register a task that runs on every dispatch of its phase
+     */
+    public Handle register(String owner, Phase phase, int priority, Task task) {
+        return register(owner, phase, priority, 0f, task);
+    }
+
+    /**
+     * Register a task, optionally limited to at most rateHz runs per second (0 = unlimited)
+     */
+    public Handle register(String owner, Phase phase, int priority, float rateHz, Task task) {
+        Handle handle = new Handle(owner, phase, priority, rateHz, task, registered.size());
+        registered.add(handle);
+        profiler.track(handle);
+        rebuild(phase);
+        return handle;
+    }
+
+    /**
+     * Run every active task of a phase. Called from the Fabric events, or directly
+     * with a prepared context to replay frames headlessly.
+     */
+    public void dispatch(Phase phase, FrameContext frame) {
+        Handle[] handles = active[phase.ordinal()];
+        long now = System.nanoTime();
+        frame.setFrameNanos(now);
+
+        if (profiler.isEnabled()) {
+            dispatchProfiled(phase, handles, frame, now);
+            return;
+        }
+
+        for (Handle handle : handles) {
+            if (handle.intervalNanos > 0) {
+                if (now < handle.nextRunNanos) continue;
+                handle.nextRunNanos = now + handle.intervalNanos;
+            }
+            handle.task.run(frame);
+        }
+        governor.recordWork(System.nanoTime() - now);
+    }
+
+    /**
+     * Same as the plain loop, timing each task and the whole phase
+     */
+    private void dispatchProfiled(Phase phase, Handle[] handles, FrameContext frame, long now) {
+        long allocatedBefore = profiler.allocatedBytes();
+
+        for (Handle handle : handles) {
+            if (handle.intervalNanos > 0) {
+                if (now < handle.nextRunNanos) continue;
+                handle.nextRunNanos = now + handle.intervalNanos;
+            }
+            long start = System.nanoTime();
+            handle.task.run(frame);
+            handle.timings.record(System.nanoTime() - start);
+        }
+
+        long elapsed = System.nanoTime() - now;
+        governor.recordWork(elapsed);
+        profiler.recordPhase(phase, elapsed, profiler.allocatedBytes() - allocatedBefore);
+    }
+
+    /**
+     * Rebuild the dispatch array of a phase; only runs on registration and toggles
+     */
+    private void rebuild(Phase phase) {
+        List<Handle> list = new ArrayList<>();
+        for (Handle handle : registered) {
+            if (handle.phase == phase && handle.enabled) {
+                list.add(handle);
+            }
+        }
+        // Stable by registration order within one priority
+        list.sort(Comparator.comparingInt((Handle h) -> h.priority).thenComparingInt(h -> h.order));
+        active[phase.ordinal()] = list.toArray(NO_HANDLES);
+    }
+
+    /**
+     * Quality tier shared by all modules
+     */
+    public QualityGovernor getGovernor() {
+        return governor;
+    }
+
+    /**
+     * Tween engine shared by all modules
+     */
+    public Animator getAnimator() {
+        return animator;
+    }
+
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * HUD sink shared by every module; owns the text run cache
+     */
+    public GuiGraphicsSink getGuiSink() {
+        return guiSink;
+    }
+
+    /**
+     * Number of tasks currently dispatched in a phase
+     */
+    public int getActiveCount(Phase phase) {
+        return active[phase.ordinal()].length;
+    }
+
+    /**
+     * A registered task; toggling it adds or removes it from the dispatch list
+     */
+    public class Handle {
+        private final String owner;
+        private final Phase phase;
+        private final int priority;
+        private final int order;
+        private final Task task;
+        private final TimingRing timings = new TimingRing(FrameProfiler.WINDOW);
+        private long intervalNanos;
+        private long nextRunNanos = 0;
+        private boolean enabled = true;
+
+        private Handle(String owner, Phase phase, int priority, float rateHz, Task task, int order) {
+            this.owner = owner;
+            this.phase = phase;
+            this.priority = priority;
+            this.task = task;
+            this.order = order;
+            setRate(rateHz);
+        }
+
+        public void setEnabled(boolean value) {
+            if (enabled == value) return;
+            enabled = value;
+            rebuild(phase);
+        }
+
+        /**
+         * Limit to at most rateHz runs per second; 0 runs on every dispatch
+         */
+        public void setRate(float rateHz) {
+            intervalNanos = rateHz > 0 ? (long) (1_000_000_000L / rateHz) : 0L;
+            nextRunNanos = 0;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public Phase getPhase() {
+            return phase;
+        }
+
+        /**
+         * Run times of this task, only recorded while the profiler is enabled
+         */
+        public TimingRing getTimings() {
+            return timings;
+        }
+    }
+}
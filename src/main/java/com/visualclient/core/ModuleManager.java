@@ -0,0 +1,175 @@
+package com.visualclient.core;
+
+import com.visualclient.VisualClientMod;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Creates, warms up, enables and disposes the feature modules.
+ * A module is only constructed the first time it is enabled, so modules disabled in the
+ * config never allocate their pools or caches. Warm-up of several modules runs in parallel
+ * on background threads; the module is enabled on the client thread once it is done.
+ */
+public class ModuleManager {
+    /**
+     * Init step of a module; normally its constructor
+     */
+    @FunctionalInterface
+    public interface Factory {
+        VisualModule create(FrameScheduler scheduler);
+    }
+
+    private enum State {
+        UNLOADED,
+        WARMING,
+        ENABLED,
+        DISPOSED
+    }
+
+    private final FrameScheduler scheduler;
+    private final Executor clientExecutor;
+    private final Map<String, Entry> modules = new LinkedHashMap<>();
+
+    /**
+     * clientExecutor runs work on the client thread; warm-up results are applied through it
+     */
+    public ModuleManager(FrameScheduler scheduler, Executor clientExecutor) {
+        this.scheduler = scheduler;
+        this.clientExecutor = clientExecutor;
+    }
+
+    public void register(String name, Factory factory) {
+        modules.put(name, new Entry(name, factory));
+    }
+
+    /**
+     * Enable or disable a module; call on the client thread. Enabling an unloaded or
+     * disposed module starts its warm-up and enables it when that finishes.
+     * Disabling disposes it, releasing its pools.
+     */
+    public void setEnabled(String name, boolean value) {
+        Entry entry = modules.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown module " + name);
+        }
+
+        entry.wanted = value;
+        if (value) {
+            if (entry.state == State.UNLOADED || entry.state == State.DISPOSED) {
+                start(entry);
+            }
+            // A module still warming up picks up the new wish when it finishes
+        } else if (entry.state == State.ENABLED) {
+            entry.module.dispose();
+            entry.state = State.DISPOSED;
+        }
+    }
+
+    private void start(Entry entry) {
+        if (entry.module == null) {
+            long start = System.nanoTime();
+            entry.module = entry.factory.create(scheduler);
+            // Nothing runs until warm-up has finished
+            entry.module.disable();
+            entry.initNanos = System.nanoTime() - start;
+        }
+
+        entry.state = State.WARMING;
+        entry.ready = CompletableFuture.runAsync(() -> {
+            long start = System.nanoTime();
+            entry.module.warmUp();
+            entry.warmUpNanos = System.nanoTime() - start;
+        }).handleAsync((ignored, error) -> {
+            finishWarmUp(entry, error);
+            return null;
+        }, clientExecutor);
+    }
+
+    private void finishWarmUp(Entry entry, Throwable error) {
+        if (error != null) {
+            VisualClientMod.LOGGER.error("Module {} failed to warm up", entry.name, error);
+            entry.state = State.DISPOSED;
+            return;
+        }
+
+        VisualClientMod.LOGGER.info("Module {} ready: init {} ms, warm-up {} ms",
+            entry.name, millis(entry.initNanos), millis(entry.warmUpNanos));
+        if (entry.wanted) {
+            entry.module.enable();
+            entry.state = State.ENABLED;
+        } else {
+            entry.module.dispose();
+            entry.state = State.DISPOSED;
+        }
+    }
+
+    /**
+     * Completes once every warm-up started so far has finished and been applied
+     */
+    public CompletableFuture<Void> whenReady() {
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        for (Entry entry : modules.values()) {
+            if (entry.ready != null) {
+                pending.add(entry.ready);
+            }
+        }
+        return CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Dispose every loaded module, e.g. when the client stops
+     */
+    public void disposeAll() {
+        for (Entry entry : modules.values()) {
+            if (entry.state == State.ENABLED) {
+                entry.module.dispose();
+                entry.state = State.DISPOSED;
+            }
+        }
+    }
+
+    public boolean isEnabled(String name) {
+        Entry entry = modules.get(name);
+        return entry != null && entry.state == State.ENABLED;
+    }
+
+    /**
+     * Time spent constructing the module on the client thread, 0 if never loaded
+     */
+    public long getInitNanos(String name) {
+        Entry entry = modules.get(name);
+        return entry != null ? entry.initNanos : 0;
+    }
+
+    /**
+     * Time spent in the last warm-up on a background thread
+     */
+    public long getWarmUpNanos(String name) {
+        Entry entry = modules.get(name);
+        return entry != null ? entry.warmUpNanos : 0;
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+
+    private static class Entry {
+        private final String name;
+        private final Factory factory;
+        private VisualModule module;
+        private State state = State.UNLOADED;
+        private boolean wanted;
+        private CompletableFuture<?> ready;
+        private long initNanos;
+        private volatile long warmUpNanos;
+
+        Entry(String name, Factory factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+    }
+}
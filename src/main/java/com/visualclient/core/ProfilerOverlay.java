@@ -0,0 +1,124 @@
+package com.visualclient.core;
+
+import com.visualclient.render.DrawSink;
+import com.visualclient.render.HudWidget;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HUD table of {@link FrameProfiler} results: p50, p99 and max per phase, per module
+ * task and per module's HUD widgets, plus the allocation rate. Text is rebuilt a few
+ * times per second, so it sits in the retained HUD layer and costs nothing between refreshes.
+ */
+public class ProfilerOverlay implements HudWidget {
+    private static final long REFRESH_NANOS = 250_000_000L;  // 4 Hz
+    private static final int PADDING = 3;
+    private static final int BACKGROUND = 0x90000000;
+    private static final int HEADER_COLOR = 0xFFFFFF55;
+    private static final int ROW_COLOR = 0xFFE0E0E0;
+
+    private final FrameProfiler profiler;
+    private final List<String> rows = new ArrayList<>();
+    private final StringBuilder line = new StringBuilder(64);
+    private final long[] scratch = new long[FrameProfiler.WINDOW];
+    private final TimingRing.Stats stats = new TimingRing.Stats();
+    private boolean shown = true;
+    private long nextRefreshNanos = 0;
+    private int width;
+    private int height;
+    private int lineHeight;
+
+    public ProfilerOverlay(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public void setShown(boolean value) {
+        shown = value;
+    }
+
+    public boolean isShown() {
+        return shown;
+    }
+
+    @Override
+    public boolean update(int screenWidth, int screenHeight, DrawSink sink) {
+        if (!isVisible()) return false;
+
+        long now = System.nanoTime();
+        if (now < nextRefreshNanos) return false;
+        nextRefreshNanos = now + REFRESH_NANOS;
+
+        profiler.refresh();
+        rebuildRows();
+
+        float widest = 0;
+        for (int i = 0, n = rows.size(); i < n; i++) {
+            widest = Math.max(widest, sink.textWidth(rows.get(i), 1.0f));
+        }
+        lineHeight = sink.lineHeight() + 1;
+        width = (int) Math.ceil(widest) + PADDING * 2;
+        height = rows.size() * lineHeight + PADDING * 2;
+        return true;
+    }
+
+    private void rebuildRows() {
+        rows.clear();
+        line.setLength(0);
+        line.append("Frame profiler  p50 / p99 / max us");
+        if (profiler.isAllocationSupported()) {
+            line.append("  alloc ").append(profiler.getAllocationRate() / 1024).append(" KB/s");
+        }
+        rows.add(line.toString());
+
+        for (FrameScheduler.Phase phase : FrameScheduler.Phase.values()) {
+            profiler.getPhaseTimes(phase).summarize(scratch, stats);
+            addRow(phase.name(), stats);
+        }
+        for (FrameScheduler.Handle handle : profiler.getTasks()) {
+            handle.getTimings().summarize(scratch, stats);
+            if (stats.count == 0) continue;
+            addRow("  " + handle.getOwner() + " " + handle.getPhase().name().toLowerCase(), stats);
+        }
+        for (String owner : profiler.getHudOwners()) {
+            profiler.getHudTimes(owner).summarize(scratch, stats);
+            if (stats.count == 0) continue;
+            addRow("  " + owner + " hud widgets", stats);
+        }
+    }
+
+    private void addRow(String label, TimingRing.Stats row) {
+        line.setLength(0);
+        line.append(label).append("  ")
+            .append(row.p50 / 1000).append(" / ")
+            .append(row.p99 / 1000).append(" / ")
+            .append(row.max / 1000);
+        rows.add(line.toString());
+    }
+
+    @Override
+    public boolean isVisible() {
+        return shown && profiler.isEnabled();
+    }
+
+    @Override
+    public int getX() { return 2; }
+
+    @Override
+    public int getY() { return 2; }
+
+    @Override
+    public int getWidth() { return width; }
+
+    @Override
+    public int getHeight() { return height; }
+
+    @Override
+    public void render(DrawSink sink) {
+        sink.fill(getX(), getY(), getX() + width, getY() + height, BACKGROUND);
+        int y = getY() + PADDING;
+        for (int i = 0, n = rows.size(); i < n; i++) {
+            sink.text(rows.get(i), getX() + PADDING, y, i == 0 ? HEADER_COLOR : ROW_COLOR, 0, 0, 1.0f);
+            y += lineHeight;
+        }
+    }
+}
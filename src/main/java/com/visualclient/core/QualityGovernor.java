@@ -0,0 +1,144 @@
+package com.visualclient.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Picks a {@link QualityTier} that keeps the mod's own work per frame under a budget.
+ * Only time spent in scheduler dispatches counts, not vanilla rendering, vsync or
+ * frame-limiter sleep, so a capped frame rate does not read as overload.
+ * Per-frame work is evaluated once per window:
+ * a window whose median is over budget drops one tier at once, while stepping back up
+ * needs several consecutive windows well under budget, so quality does not flap.
+ */
+public class QualityGovernor {
+    public static final float DEFAULT_BUDGET_MS = 2.0f;  // of a 6.9 ms frame at 144 Hz
+    private static final int WINDOW_FRAMES = 64;
+    private static final int UPGRADE_WINDOWS = 4;
+    private static final float UPGRADE_HEADROOM = 0.7f;
+
+    /**
+     * Notified on the render thread whenever the tier changes
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onTierChanged(QualityTier tier);
+    }
+
+    private final List<Listener> listeners = new ArrayList<>();
+    private final TimingRing frameTimes = new TimingRing(WINDOW_FRAMES);
+    private final long[] scratch = new long[WINDOW_FRAMES];
+    private final TimingRing.Stats stats = new TimingRing.Stats();
+    private QualityTier tier = QualityTier.ULTRA;
+    private boolean enabled = true;
+    private long budgetNanos = (long) (DEFAULT_BUDGET_MS * 1_000_000L);
+    private long workNanos = 0;
+    private int framesInWindow = 0;
+    private int goodWindows = 0;
+    private long tierChanges = 0;
+
+    /**
+     * Register the governor as the first HUD task; called once from VisualClientMod
+     */
+    public FrameScheduler.Handle install(FrameScheduler scheduler) {
+        return scheduler.register("quality-governor", FrameScheduler.Phase.HUD, FrameScheduler.PRIORITY_EARLY - 1,
+            this::onFrame);
+    }
+
+    /**
+     * Add the duration of one phase dispatch to the current frame's work
+     */
+    void recordWork(long nanos) {
+        workNanos += nanos;
+    }
+
+    /**
+     * Close the previous frame: everything dispatched since the last HUD frame
+     */
+    private void onFrame(FrameContext context) {
+        context.setQualityTier(tier);
+        long work = workNanos;
+        workNanos = 0;
+        if (!enabled) return;
+
+        frameTimes.record(work);
+        if (++framesInWindow < WINDOW_FRAMES) return;
+        framesInWindow = 0;
+        evaluate();
+        context.setQualityTier(tier);
+    }
+
+    private void evaluate() {
+        frameTimes.summarize(scratch, stats);
+
+        if (stats.p50 > budgetNanos) {
+            goodWindows = 0;
+            setTier(tier.lower());
+        } else if (stats.p99 < budgetNanos * UPGRADE_HEADROOM) {
+            if (++goodWindows >= UPGRADE_WINDOWS) {
+                goodWindows = 0;
+                setTier(tier.higher());
+            }
+        } else {
+            goodWindows = 0;
+        }
+    }
+
+    private void setTier(QualityTier value) {
+        if (value == tier) return;
+        tier = value;
+        tierChanges++;
+        // Samples from the previous tier say nothing about the new one
+        frameTimes.clear();
+        framesInWindow = 0;
+        for (int i = 0, n = listeners.size(); i < n; i++) {
+            listeners.get(i).onTierChanged(value);
+        }
+    }
+
+    /**
+     * Subscribe to tier changes; the listener is called once with the current tier
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+        listener.onTierChanged(tier);
+    }
+
+    /**
+     * Milliseconds per frame the mod's own tasks may take, independent of the frame rate
+     */
+    public void setFrameBudget(float milliseconds) {
+        float clamped = Math.max(0.1f, Math.min(100f, milliseconds));
+        budgetNanos = (long) (clamped * 1_000_000L);
+        goodWindows = 0;
+    }
+
+    /**
+     * Disabling restores full quality and stops adjusting
+     */
+    public void setEnabled(boolean value) {
+        enabled = value;
+        frameTimes.clear();
+        framesInWindow = 0;
+        goodWindows = 0;
+        if (!value) {
+            setTier(QualityTier.ULTRA);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public QualityTier getTier() {
+        return tier;
+    }
+
+    public float getFrameBudget() {
+        return budgetNanos / 1_000_000f;
+    }
+
+    public long getTierChangeCount() {
+        return tierChanges;
+    }
+}
@@ -0,0 +1,61 @@
+package com.visualclient.core;
+
+/**
+ * Effect quality levels chosen by {@link QualityGovernor}, from full quality down.
+ * Each tier carries the scale factors modules apply to their own settings.
+ */
+public enum QualityTier {
+    ULTRA(1.0f, 1.0f, 1, 1.0f),
+    HIGH(0.75f, 0.75f, 1, 1.0f),
+    MEDIUM(0.5f, 0.5f, 2, 0.75f),
+    LOW(0.3f, 0.35f, 3, 0.5f),
+    MINIMAL(0.15f, 0.2f, 4, 0.25f);
+
+    private final float particleScale;
+    private final float trailScale;
+    private final int circleStep;
+    private final float hudRateScale;
+
+    QualityTier(float particleScale, float trailScale, int circleStep, float hudRateScale) {
+        this.particleScale = particleScale;
+        this.trailScale = trailScale;
+        this.circleStep = circleStep;
+        this.hudRateScale = hudRateScale;
+    }
+
+    /**
+     * Multiplier for particles per hit and the particle cap
+     */
+    public float getParticleScale() {
+        return particleScale;
+    }
+
+    /**
+     * Multiplier for trail lifetime
+     */
+    public float getTrailScale() {
+        return trailScale;
+    }
+
+    /**
+     * Use every Nth segment of circular HUD geometry
+     */
+    public int getCircleStep() {
+        return circleStep;
+    }
+
+    /**
+     * Multiplier for rate-limited HUD updates
+     */
+    public float getHudRateScale() {
+        return hudRateScale;
+    }
+
+    public QualityTier lower() {
+        return this == MINIMAL ? this : values()[ordinal() + 1];
+    }
+
+    public QualityTier higher() {
+        return this == ULTRA ? this : values()[ordinal() - 1];
+    }
+}
@@ -0,0 +1,84 @@
+package com.visualclient.core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size ring of the most recent samples of one metric.
+ * Single writer (the render thread), any number of readers: the write counter is
+ * published after the sample, so readers never block the writer and at worst see
+ * the oldest sample of the window being overwritten.
+ */
+public class TimingRing {
+    private final long[] samples;
+    private final int mask;
+    private final AtomicLong written = new AtomicLong();
+
+    /**
+     * @param capacity window size, rounded up to a power of two
+     */
+    public TimingRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        samples = new long[size];
+        mask = size - 1;
+    }
+
+    public void record(long value) {
+        long n = written.get();
+        samples[(int) (n & mask)] = value;
+        written.lazySet(n + 1);
+    }
+
+    /**
+     * Summarize the current window into out; scratch must hold at least {@link #getCapacity()} values
+     */
+    public void summarize(long[] scratch, Stats out) {
+        long n = written.get();
+        int count = (int) Math.min(n, samples.length);
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            long value = samples[(int) ((n - count + i) & mask)];
+            scratch[i] = value;
+            sum += value;
+        }
+
+        out.count = count;
+        out.total = n;
+        if (count == 0) {
+            out.p50 = out.p99 = out.max = out.mean = 0;
+            return;
+        }
+        Arrays.sort(scratch, 0, count);
+        out.p50 = scratch[(count - 1) / 2];
+        out.p99 = scratch[(int) Math.ceil(count * 0.99) - 1];
+        out.max = scratch[count - 1];
+        out.mean = sum / count;
+    }
+
+    public void clear() {
+        written.set(0);
+    }
+
+    public int getCapacity() {
+        return samples.length;
+    }
+
+    /**
+     * Number of samples recorded since the last clear
+     */
+    public long getTotal() {
+        return written.get();
+    }
+
+    /**
+     * Percentiles of one window, reused between summaries
+     */
+    public static class Stats {
+        public int count;
+        public long total;
+        public long p50;
+        public long p99;
+        public long max;
+        public long mean;
+    }
+}
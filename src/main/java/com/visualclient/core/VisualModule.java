@@ -0,0 +1,26 @@
+package com.visualclient.core;
+
+/**
+ * Lifecycle of a feature module, driven by {@link ModuleManager}.
+ * The constructor is the init step: it registers tasks and widgets on the client thread
+ * but allocates nothing heavy. Pools and caches are built in {@link #warmUp}.
+ */
+public interface VisualModule {
+    /**
+     * Allocate pools and bake caches before the first enable. Runs on a background thread,
+     * in parallel with other modules, so it must not touch the scheduler or the game.
+     */
+    default void warmUp() {
+    }
+
+    void enable();
+
+    void disable();
+
+    /**
+     * Disable and release pools and caches; warmUp runs again before the next enable
+     */
+    default void dispose() {
+        disable();
+    }
+}
@@ -0,0 +1,39 @@
+package com.visualclient.render;
+
+/**
+ * Destination for HUD drawing.
+ * Modules draw through this instead of GuiGraphics, so the same widget code runs
+ * against the game ({@link GuiGraphicsSink}) or headlessly ({@link RecordingDrawSink}).
+ */
+public interface DrawSink {
+    /**
+     * Draw one filled rectangle
+     */
+    void fill(int x1, int y1, int x2, int y2, int color);
+
+    /**
+     * Draw all quads queued in the batch as one draw and reset it
+     */
+    void quads(HudQuadBatch batch);
+
+    /**
+     * Draw a line of text, with a drop shadow when shadowOffset is not 0
+     */
+    void text(String text, int x, int y, int color, int shadowColor, int shadowOffset, float scale);
+
+    /**
+     * Same as {@link #text}, additionally scaled by drawScale around (x, y) at draw time.
+     * The layout is cached at scale only, so animating drawScale never reshapes the text.
+     */
+    void text(String text, int x, int y, int color, int shadowColor, int shadowOffset, float scale, float drawScale);
+
+    /**
+     * Width of a line of text in GUI pixels at the given scale
+     */
+    float textWidth(String text, float scale);
+
+    /**
+     * Height of a line of text in GUI pixels at scale 1
+     */
+    int lineHeight();
+}
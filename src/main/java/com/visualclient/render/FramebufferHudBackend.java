@@ -0,0 +1,106 @@
+package com.visualclient.render;
+
+import com.mojang.blaze3d.pipeline.RenderTarget;
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.Window;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.CoreShaders;
+import org.joml.Matrix4f;
+import org.lwjgl.opengl.GL11;
+
+/**
+ * GPU side of the retained HUD layer: one off-screen color target the size of
+ * the window, updated in damaged regions and drawn onto the screen as a single quad.
+ */
+public class FramebufferHudBackend implements HudLayerBackend {
+    private RenderTarget layer;
+    private GuiGraphicsSink sink;
+    private GuiGraphics graphics;
+    private int screenWidth;
+    private int screenHeight;
+
+    @Override
+    public void beginFrame(DrawSink frameSink) {
+        // The off-screen layer can only be filled through the game's GuiGraphics
+        this.sink = (GuiGraphicsSink) frameSink;
+        this.graphics = sink.getGraphics();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        screenWidth = width;
+        screenHeight = height;
+        Window window = MinecraftClient.getInstance().getWindow();
+        int fbWidth = window.getWidth();
+        int fbHeight = window.getHeight();
+        if (layer == null) {
+            layer = new TextureTarget(fbWidth, fbHeight, false);
+            layer.setClearColor(0f, 0f, 0f, 0f);
+        } else {
+            layer.resize(fbWidth, fbHeight);
+        }
+    }
+
+    @Override
+    public void beginUpdate() {
+        // Anything GuiGraphics buffered so far belongs on the main target
+        graphics.flush();
+        layer.bindWrite(true);
+    }
+
+    @Override
+    public void clearRegion(int x, int y, int width, int height) {
+        double scale = MinecraftClient.getInstance().getWindow().getGuiScale();
+        int px = (int) Math.floor(x * scale);
+        int pw = (int) Math.ceil(width * scale);
+        int ph = (int) Math.ceil(height * scale);
+        // GL scissor origin is bottom-left
+        int py = layer.height - (int) Math.floor(y * scale) - ph;
+
+        RenderSystem.enableScissor(px, py, pw, ph);
+        RenderSystem.clearColor(0f, 0f, 0f, 0f);
+        RenderSystem.clear(GL11.GL_COLOR_BUFFER_BIT);
+        RenderSystem.disableScissor();
+    }
+
+    @Override
+    public void drawWidget(HudWidget widget, int clipX, int clipY, int clipWidth, int clipHeight) {
+        graphics.enableScissor(clipX, clipY, clipX + clipWidth, clipY + clipHeight);
+        widget.render(sink);
+        graphics.flush();
+        graphics.disableScissor();
+    }
+
+    @Override
+    public void endUpdate() {
+        graphics.flush();
+        MinecraftClient.getInstance().getMainRenderTarget().bindWrite(true);
+    }
+
+    @Override
+    public void blit() {
+        if (layer == null) return;
+
+        Matrix4f matrix = graphics.pose().last().pose();
+        RenderSystem.enableBlend();
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.setShader(CoreShaders.POSITION_TEX);
+        RenderSystem.setShaderTexture(0, layer.getColorTextureId());
+
+        // Texture rows are bottom-up, so the top of the screen samples v = 1
+        BufferBuilder builder = Tesselator.getInstance().begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+        builder.addVertex(matrix, 0, screenHeight, 0).setUv(0f, 0f);
+        builder.addVertex(matrix, screenWidth, screenHeight, 0).setUv(1f, 0f);
+        builder.addVertex(matrix, screenWidth, 0, 0).setUv(1f, 1f);
+        builder.addVertex(matrix, 0, 0, 0).setUv(0f, 1f);
+        BufferUploader.drawWithShader(builder.buildOrThrow());
+        RenderSystem.disableBlend();
+    }
+}
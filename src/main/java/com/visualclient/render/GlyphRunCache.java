@@ -0,0 +1,157 @@
+package com.visualclient.render;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.locale.Language;
+import net.minecraft.network.chat.FormattedText;
+import net.minecraft.util.FormattedCharSequence;
+
+/**
+ * LRU cache of bidi-ordered text runs shared by all HUD text (the Topka widgets).
+ * A run holds the visual-order character sequence and its measured width, built once
+ * per (text, scale), so a frame skips the bidi reordering and the width measurement.
+ * Glyph lookup and quad emission are still done by the font on every drawString,
+ * once for the shadow pass and once for the main pass.
+ * Lookups reuse a mutable probe key and do not allocate on a hit.
+ */
+public class GlyphRunCache {
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Run> runs;
+    private final Key probe = new Key();
+    private long hits = 0;
+    private long misses = 0;
+
+    public GlyphRunCache(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.runs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Run> eldest) {
+                return size() > GlyphRunCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the cached run for a string at a scale, reordering and measuring it on a miss
+     */
+    public Run get(Font font, String text, float scale) {
+        probe.set(text, scale);
+        Run run = runs.get(probe);
+        if (run != null) {
+            hits++;
+            return run;
+        }
+
+        misses++;
+        FormattedCharSequence glyphs = Language.getInstance().getVisualOrder(FormattedText.of(text));
+        run = new Run(glyphs, font.width(glyphs), scale);
+        runs.put(new Key().set(text, scale), run);
+        return run;
+    }
+
+    /**
+     * Draw text with an optional drop shadow; both passes draw the same cached run
+     */
+    public void draw(GuiGraphics graphics, Font font, String text, int x, int y,
+                     int color, int shadowColor, int shadowOffset, float scale) {
+        draw(graphics, font, text, x, y, color, shadowColor, shadowOffset, scale, 1.0f);
+    }
+
+    /**
+     * Draw a run cached at scale, with an extra drawScale applied only to the pose
+     * (e.g. an animated pop), so it does not add cache entries
+     */
+    public void draw(GuiGraphics graphics, Font font, String text, int x, int y,
+                     int color, int shadowColor, int shadowOffset, float scale, float drawScale) {
+        Run run = get(font, text, scale);
+        float poseScale = scale * drawScale;
+        boolean scaled = poseScale != 1.0f;
+        if (scaled) {
+            graphics.pose().pushPose();
+            graphics.pose().translate(x, y, 0);
+            graphics.pose().scale(poseScale, poseScale, 1.0f);
+            x = 0;
+            y = 0;
+        }
+
+        if (shadowOffset != 0) {
+            graphics.drawString(font, run.glyphs, x + shadowOffset, y + shadowOffset, shadowColor, false);
+        }
+        graphics.drawString(font, run.glyphs, x, y, color, false);
+
+        if (scaled) {
+            graphics.pose().popPose();
+        }
+    }
+
+    public void clear() {
+        runs.clear();
+    }
+
+    public int size() {
+        return runs.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * A visual-order character sequence and its measured width
+     */
+    public static class Run {
+        private final FormattedCharSequence glyphs;
+        private final int width;
+        private final float scale;
+
+        Run(FormattedCharSequence glyphs, int width, float scale) {
+            this.glyphs = glyphs;
+            this.width = width;
+            this.scale = scale;
+        }
+
+        public FormattedCharSequence getGlyphs() {
+            return glyphs;
+        }
+
+        /**
+         * Width in GUI pixels after scaling
+         */
+        public float getScaledWidth() {
+            return width * scale;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+    }
+
+    private static final class Key {
+        private String text;
+        private int scaleBits;
+
+        Key set(String text, float scale) {
+            this.text = text;
+            this.scaleBits = Float.floatToIntBits(scale);
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return scaleBits == other.scaleBits && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return text.hashCode() * 31 + scaleBits;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.visualclient.render;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.GuiGraphics;
+
+/**
+ * {@link DrawSink} backed by the game's GuiGraphics for the current frame.
+ * Text runs are reordered and measured once through a shared {@link GlyphRunCache}.
+ */
+public class GuiGraphicsSink implements DrawSink {
+    private final GlyphRunCache glyphRuns = new GlyphRunCache(64);
+    private GuiGraphics graphics;
+
+    /**
+     * Point the sink at the GuiGraphics of the frame being rendered
+     */
+    public void setGraphics(GuiGraphics graphics) {
+        this.graphics = graphics;
+    }
+
+    public GuiGraphics getGraphics() {
+        return graphics;
+    }
+
+    @Override
+    public void fill(int x1, int y1, int x2, int y2, int color) {
+        graphics.fill(x1, y1, x2, y2, color);
+    }
+
+    @Override
+    public void quads(HudQuadBatch batch) {
+        batch.flush(graphics);
+    }
+
+    @Override
+    public void text(String text, int x, int y, int color, int shadowColor, int shadowOffset, float scale) {
+        glyphRuns.draw(graphics, MinecraftClient.getInstance().textRenderer, text, x, y,
+            color, shadowColor, shadowOffset, scale);
+    }
+
+    @Override
+    public void text(String text, int x, int y, int color, int shadowColor, int shadowOffset, float scale, float drawScale) {
+        glyphRuns.draw(graphics, MinecraftClient.getInstance().textRenderer, text, x, y,
+            color, shadowColor, shadowOffset, scale, drawScale);
+    }
+
+    @Override
+    public float textWidth(String text, float scale) {
+        return glyphRuns.get(MinecraftClient.getInstance().textRenderer, text, scale).getScaledWidth();
+    }
+
+    @Override
+    public int lineHeight() {
+        return 9;
+    }
+
+    public GlyphRunCache getGlyphRunCache() {
+        return glyphRuns;
+    }
+}
@@ -0,0 +1,268 @@
+package com.visualclient.render;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dirty-region tracking for the retained HUD layer.
+ * Each frame widgets report whether they changed; the old and new bounds of changed
+ * widgets become damage rectangles, which are cleared and redrawn by every widget
+ * overlapping them. A frame with no damage costs a single composite blit.
+ * Contains no GPU code, so it can be driven by a recording backend in tests.
+ * Each widget carries an owner index, so its update and redraw time can be charged
+ * to the module that added it.
+ */
+public class HudCompositor {
+    private HudLayerBackend backend;
+    private final List<HudWidget> widgets = new ArrayList<>();
+    private int[] owners = new int[0];
+
+    // x, y, width, height per widget as last rasterized
+    private int[] lastBounds = new int[0];
+    private boolean[] lastVisible = new boolean[0];
+
+    // x, y, width, height per damage rectangle for the current frame
+    private int[] damage = new int[16 * 4];
+    private int damageCount = 0;
+
+    private int screenWidth = -1;
+    private int screenHeight = -1;
+    private boolean fullInvalidate = true;
+
+    private long frames = 0;
+    private long updates = 0;
+    private long rasterized = 0;
+    private int lastFrameRasterized = 0;
+    private int lastFrameDamage = 0;
+
+    public HudCompositor(HudLayerBackend backend) {
+        this.backend = backend;
+    }
+
+    public void add(HudWidget widget) {
+        add(widget, 0);
+    }
+
+    /**
+     * Add a widget whose time is charged to an owner index when rendering with timing
+     */
+    public void add(HudWidget widget, int owner) {
+        widgets.add(widget);
+        int n = widgets.size();
+        int[] bounds = new int[n * 4];
+        System.arraycopy(lastBounds, 0, bounds, 0, lastBounds.length);
+        boolean[] visible = new boolean[n];
+        System.arraycopy(lastVisible, 0, visible, 0, lastVisible.length);
+        int[] widgetOwners = new int[n];
+        System.arraycopy(owners, 0, widgetOwners, 0, owners.length);
+        widgetOwners[n - 1] = owner;
+        lastBounds = bounds;
+        lastVisible = visible;
+        owners = widgetOwners;
+        fullInvalidate = true;
+    }
+
+    public void remove(HudWidget widget) {
+        int index = widgets.indexOf(widget);
+        if (index < 0) return;
+
+        widgets.remove(index);
+        int n = widgets.size();
+        int[] bounds = new int[n * 4];
+        boolean[] visible = new boolean[n];
+        int[] widgetOwners = new int[n];
+        for (int i = 0, j = 0; i <= n; i++) {
+            if (i == index) continue;
+            System.arraycopy(lastBounds, i * 4, bounds, j * 4, 4);
+            widgetOwners[j] = owners[i];
+            visible[j++] = lastVisible[i];
+        }
+        lastBounds = bounds;
+        lastVisible = visible;
+        owners = widgetOwners;
+        fullInvalidate = true;
+    }
+
+    /**
+     * Swap the layer storage, e.g. for a recording backend in headless runs
+     */
+    public void setBackend(HudLayerBackend backend) {
+        this.backend = backend;
+        screenWidth = -1;
+        screenHeight = -1;
+        fullInvalidate = true;
+    }
+
+    /**
+     * Force every widget to be redrawn on the next frame
+     */
+    public void invalidateAll() {
+        fullInvalidate = true;
+    }
+
+    /**
+     * Update widgets, redraw damaged regions of the layer and composite it
+     */
+    public void render(int width, int height, DrawSink sink) {
+        render(width, height, sink, null);
+    }
+
+    /**
+     * Same as {@link #render(int, int, DrawSink)}, adding each widget's update and redraw
+     * nanoseconds to ownerNanos at its owner index; null skips the timing
+     */
+    public void render(int width, int height, DrawSink sink, long[] ownerNanos) {
+        frames++;
+        backend.beginFrame(sink);
+        if (width != screenWidth || height != screenHeight) {
+            screenWidth = width;
+            screenHeight = height;
+            backend.resize(width, height);
+            fullInvalidate = true;
+        }
+
+        damageCount = 0;
+        for (int i = 0, n = widgets.size(); i < n; i++) {
+            HudWidget widget = widgets.get(i);
+            long start = ownerNanos != null ? System.nanoTime() : 0L;
+            boolean changed = widget.update(width, height, sink);
+            if (ownerNanos != null) {
+                ownerNanos[owners[i]] += System.nanoTime() - start;
+            }
+            boolean visible = widget.isVisible();
+            int x = widget.getX(), y = widget.getY(), w = widget.getWidth(), h = widget.getHeight();
+            int b = i * 4;
+            boolean moved = visible != lastVisible[i] || x != lastBounds[b] || y != lastBounds[b + 1]
+                || w != lastBounds[b + 2] || h != lastBounds[b + 3];
+
+            if (!fullInvalidate && (moved || (changed && visible))) {
+                if (lastVisible[i]) {
+                    addDamage(lastBounds[b], lastBounds[b + 1], lastBounds[b + 2], lastBounds[b + 3]);
+                }
+                if (visible) {
+                    addDamage(x, y, w, h);
+                }
+            }
+
+            lastVisible[i] = visible;
+            lastBounds[b] = x;
+            lastBounds[b + 1] = y;
+            lastBounds[b + 2] = w;
+            lastBounds[b + 3] = h;
+        }
+
+        if (fullInvalidate) {
+            damageCount = 0;
+            addDamage(0, 0, width, height);
+            fullInvalidate = false;
+        }
+
+        lastFrameDamage = damageCount;
+        lastFrameRasterized = 0;
+        if (damageCount > 0) {
+            redrawDamage(ownerNanos);
+        }
+        backend.blit();
+    }
+
+    private void redrawDamage(long[] ownerNanos) {
+        updates++;
+        backend.beginUpdate();
+        for (int d = 0; d < damageCount; d++) {
+            int o = d * 4;
+            backend.clearRegion(damage[o], damage[o + 1], damage[o + 2], damage[o + 3]);
+        }
+
+        // Clearing also erased any overlapping widget, so redraw everything touching the damage
+        for (int i = 0, n = widgets.size(); i < n; i++) {
+            if (!lastVisible[i]) continue;
+            int b = i * 4;
+            boolean drawn = false;
+            long start = ownerNanos != null ? System.nanoTime() : 0L;
+            for (int d = 0; d < damageCount; d++) {
+                int o = d * 4;
+                int x1 = Math.max(lastBounds[b], damage[o]);
+                int y1 = Math.max(lastBounds[b + 1], damage[o + 1]);
+                int x2 = Math.min(lastBounds[b] + lastBounds[b + 2], damage[o] + damage[o + 2]);
+                int y2 = Math.min(lastBounds[b + 1] + lastBounds[b + 3], damage[o + 1] + damage[o + 3]);
+                if (x1 < x2 && y1 < y2) {
+                    backend.drawWidget(widgets.get(i), x1, y1, x2 - x1, y2 - y1);
+                    drawn = true;
+                }
+            }
+            if (ownerNanos != null) {
+                ownerNanos[owners[i]] += System.nanoTime() - start;
+            }
+            if (drawn) {
+                lastFrameRasterized++;
+                rasterized++;
+            }
+        }
+        backend.endUpdate();
+    }
+
+    private void addDamage(int x, int y, int w, int h) {
+        if (w <= 0 || h <= 0) return;
+
+        // Keep damage rectangles disjoint so no pixel is cleared or blended twice
+        int d = 0;
+        while (d < damageCount) {
+            int o = d * 4;
+            int ox = damage[o], oy = damage[o + 1], ow = damage[o + 2], oh = damage[o + 3];
+            if (x < ox + ow && ox < x + w && y < oy + oh && oy < y + h) {
+                int x2 = Math.max(x + w, ox + ow);
+                int y2 = Math.max(y + h, oy + oh);
+                x = Math.min(x, ox);
+                y = Math.min(y, oy);
+                w = x2 - x;
+                h = y2 - y;
+
+                // Remove the merged rectangle and rescan, the union may touch others
+                damageCount--;
+                System.arraycopy(damage, damageCount * 4, damage, o, 4);
+                d = 0;
+            } else {
+                d++;
+            }
+        }
+
+        if ((damageCount + 1) * 4 > damage.length) {
+            int[] grown = new int[damage.length * 2];
+            System.arraycopy(damage, 0, grown, 0, damageCount * 4);
+            damage = grown;
+        }
+        int o = damageCount * 4;
+        damage[o] = x;
+        damage[o + 1] = y;
+        damage[o + 2] = w;
+        damage[o + 3] = h;
+        damageCount++;
+    }
+
+    public int getWidgetCount() {
+        return widgets.size();
+    }
+
+    public long getFrameCount() {
+        return frames;
+    }
+
+    /**
+     * Number of frames that redrew part of the layer
+     */
+    public long getUpdateCount() {
+        return updates;
+    }
+
+    public long getRasterizedCount() {
+        return rasterized;
+    }
+
+    public int getLastFrameRasterized() {
+        return lastFrameRasterized;
+    }
+
+    public int getLastFrameDamage() {
+        return lastFrameDamage;
+    }
+}
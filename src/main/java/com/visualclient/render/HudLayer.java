@@ -0,0 +1,116 @@
+package com.visualclient.render;
+
+import com.visualclient.core.FrameContext;
+import com.visualclient.core.FrameProfiler;
+import com.visualclient.core.FrameScheduler;
+import com.visualclient.core.TimingRing;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared HUD layer for all visual modules.
+ * Retained widgets live in one cached off-screen layer that is only redrawn where
+ * something changed; immediate widgets (full-screen flashes, fast animations) are
+ * drawn on top every frame. Runs as a single HUD task for the whole mod, so while
+ * the profiler is on, widget work is also timed per owning module.
+ */
+public class HudLayer {
+    private static final HudCompositor compositor = new HudCompositor(new FramebufferHudBackend());
+    private static final List<HudWidget> immediate = new ArrayList<>();
+    private static int[] immediateOwners = new int[0];
+
+    // Module names by owner index, with their time in the current frame
+    private static final List<String> owners = new ArrayList<>();
+    private static long[] ownerNanos = new long[0];
+    private static TimingRing[] ownerTimes = new TimingRing[0];
+    private static FrameProfiler profiler;
+
+    /**
+     * Register the HUD layer with the scheduler; called once from VisualClientMod
+     */
+    public static FrameScheduler.Handle install(FrameScheduler scheduler) {
+        profiler = scheduler.getProfiler();
+        return scheduler.register("hud-layer", FrameScheduler.Phase.HUD, FrameScheduler.PRIORITY_LATE, HudLayer::render);
+    }
+
+    private static void render(FrameContext context) {
+        int width = context.getScreenWidth();
+        int height = context.getScreenHeight();
+        DrawSink sink = context.getSink();
+        boolean timed = profiler != null && profiler.isEnabled();
+
+        compositor.render(width, height, sink, timed ? ownerNanos : null);
+
+        for (int i = 0, n = immediate.size(); i < n; i++) {
+            HudWidget widget = immediate.get(i);
+            long start = timed ? System.nanoTime() : 0L;
+            widget.update(width, height, sink);
+            if (widget.isVisible()) {
+                widget.render(sink);
+            }
+            if (timed) {
+                ownerNanos[immediateOwners[i]] += System.nanoTime() - start;
+            }
+        }
+
+        if (timed) {
+            recordOwnerTimes();
+        }
+    }
+
+    private static void recordOwnerTimes() {
+        for (int i = 0; i < ownerNanos.length; i++) {
+            if (ownerTimes[i] == null) {
+                ownerTimes[i] = profiler.getHudTimes(owners.get(i));
+            }
+            ownerTimes[i].record(ownerNanos[i]);
+            ownerNanos[i] = 0;
+        }
+    }
+
+    private static int ownerIndex(String owner) {
+        int index = owners.indexOf(owner);
+        if (index >= 0) return index;
+
+        owners.add(owner);
+        int n = owners.size();
+        long[] nanos = new long[n];
+        System.arraycopy(ownerNanos, 0, nanos, 0, ownerNanos.length);
+        TimingRing[] times = new TimingRing[n];
+        System.arraycopy(ownerTimes, 0, times, 0, ownerTimes.length);
+        ownerNanos = nanos;
+        ownerTimes = times;
+        return n - 1;
+    }
+
+    /**
+     * Replace the off-screen layer storage, e.g. with a {@link RecordingHudBackend} for headless runs
+     */
+    public static void setBackend(HudLayerBackend backend) {
+        compositor.setBackend(backend);
+    }
+
+    /**
+     * Add a widget that is cached and redrawn only when it changes.
+     * Its time is reported under owner, the name of the module that draws it.
+     */
+    public static void addRetained(String owner, HudWidget widget) {
+        compositor.add(widget, ownerIndex(owner));
+    }
+
+    /**
+     * Add a widget that is drawn every frame, timed under owner
+     */
+    public static void addImmediate(String owner, HudWidget widget) {
+        int index = ownerIndex(owner);
+        immediate.add(widget);
+        int[] widgetOwners = new int[immediate.size()];
+        System.arraycopy(immediateOwners, 0, widgetOwners, 0, immediateOwners.length);
+        widgetOwners[widgetOwners.length - 1] = index;
+        immediateOwners = widgetOwners;
+    }
+
+    public static HudCompositor getCompositor() {
+        return compositor;
+    }
+}
@@ -0,0 +1,40 @@
+package com.visualclient.render;
+
+/**
+ * Storage for the cached HUD layer used by {@link HudCompositor}.
+ * Coordinates are GUI pixels. Keeping the GPU behind this interface lets the
+ * dirty-tracking logic run and be checked without a render context.
+ */
+public interface HudLayerBackend {
+    /**
+     * Called at the start of every frame with the sink widgets draw into
+     */
+    void beginFrame(DrawSink sink);
+
+    /**
+     * (Re)create the layer for a new screen size; its contents are undefined afterwards
+     */
+    void resize(int screenWidth, int screenHeight);
+
+    /**
+     * Start redrawing damaged regions of the layer
+     */
+    void beginUpdate();
+
+    /**
+     * Make a region of the layer fully transparent
+     */
+    void clearRegion(int x, int y, int width, int height);
+
+    /**
+     * Rasterize a widget into the layer, clipped to a region
+     */
+    void drawWidget(HudWidget widget, int clipX, int clipY, int clipWidth, int clipHeight);
+
+    void endUpdate();
+
+    /**
+     * Draw the whole layer onto the screen
+     */
+    void blit();
+}
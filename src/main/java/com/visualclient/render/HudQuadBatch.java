@@ -0,0 +1,148 @@
+package com.visualclient.render;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.MeshData;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.CoreShaders;
+import org.joml.Matrix4f;
+
+/**
+ * Collects axis-aligned HUD rectangles for a frame and submits them as a single draw.
+ * Quads are stored in one reusable primitive array, so adding them never allocates
+ * once the batch has grown to its working size. Everything except {@link #flush}
+ * is plain CPU code and can be exercised without a GPU.
+ */
+public class HudQuadBatch {
+    // x1, y1, x2, y2, color
+    public static final int INTS_PER_QUAD = 5;
+    // POSITION_COLOR: 3 floats + 4 color bytes
+    public static final int BYTES_PER_VERTEX = 16;
+    public static final int VERTICES_PER_QUAD = 4;
+
+    private int[] quads;
+    private int quadCount = 0;
+    private long lastFrameQuads = 0;
+
+    public HudQuadBatch() {
+        this(64);
+    }
+
+    public HudQuadBatch(int initialQuads) {
+        this.quads = new int[Math.max(1, initialQuads) * INTS_PER_QUAD];
+    }
+
+    /**
+     * Queue a filled rectangle, with the same corner handling as GuiGraphics.fill
+     */
+    public void fill(int x1, int y1, int x2, int y2, int color) {
+        ensureCapacity(quadCount + 1);
+        pack(quads, quadCount, x1, y1, x2, y2, color);
+        quadCount++;
+    }
+
+    /**
+     * Queue quads that were already packed with {@link #pack}, as one array copy
+     */
+    public void addPacked(int[] packed, int count) {
+        ensureCapacity(quadCount + count);
+        System.arraycopy(packed, 0, quads, quadCount * INTS_PER_QUAD, count * INTS_PER_QUAD);
+        quadCount += count;
+    }
+
+    /**
+     * Write a rectangle into a packed quad array at the given quad index
+     */
+    public static void pack(int[] dst, int quad, int x1, int y1, int x2, int y2, int color) {
+        if (x1 > x2) {
+            int t = x1; x1 = x2; x2 = t;
+        }
+        if (y1 > y2) {
+            int t = y1; y1 = y2; y2 = t;
+        }
+        int i = quad * INTS_PER_QUAD;
+        dst[i] = x1;
+        dst[i + 1] = y1;
+        dst[i + 2] = x2;
+        dst[i + 3] = y2;
+        dst[i + 4] = color;
+    }
+
+    private void ensureCapacity(int quadsNeeded) {
+        if (quadsNeeded * INTS_PER_QUAD > quads.length) {
+            int[] grown = new int[Math.max(quads.length * 2, quadsNeeded * INTS_PER_QUAD)];
+            System.arraycopy(quads, 0, grown, 0, quadCount * INTS_PER_QUAD);
+            quads = grown;
+        }
+    }
+
+    /**
+     * Submit all queued quads in one draw and reset the batch for the next frame
+     */
+    public void flush(GuiGraphics graphics) {
+        lastFrameQuads = quadCount;
+        if (quadCount == 0) return;
+
+        // Keep ordering with anything GuiGraphics has buffered so far
+        graphics.flush();
+
+        Matrix4f matrix = graphics.pose().last().pose();
+        BufferBuilder builder = Tesselator.getInstance().begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_COLOR);
+        for (int q = 0; q < quadCount; q++) {
+            int i = q * INTS_PER_QUAD;
+            float x1 = quads[i], y1 = quads[i + 1], x2 = quads[i + 2], y2 = quads[i + 3];
+            int color = quads[i + 4];
+            builder.addVertex(matrix, x1, y1, 0).setColor(color);
+            builder.addVertex(matrix, x1, y2, 0).setColor(color);
+            builder.addVertex(matrix, x2, y2, 0).setColor(color);
+            builder.addVertex(matrix, x2, y1, 0).setColor(color);
+        }
+
+        RenderSystem.enableBlend();
+        RenderSystem.setShader(CoreShaders.POSITION_COLOR);
+        MeshData mesh = builder.build();
+        if (mesh != null) {
+            BufferUploader.drawWithShader(mesh);
+        }
+        RenderSystem.disableBlend();
+
+        quadCount = 0;
+    }
+
+    /**
+     * Drop all queued quads without drawing them
+     */
+    public void reset() {
+        lastFrameQuads = quadCount;
+        quadCount = 0;
+    }
+
+    /**
+     * Headless inspection of the queued geometry
+     */
+    public int getQuadCount() {
+        return quadCount;
+    }
+
+    public int getVertexBytes() {
+        return quadCount * VERTICES_PER_QUAD * BYTES_PER_VERTEX;
+    }
+
+    public long getLastFrameQuadCount() {
+        return lastFrameQuads;
+    }
+
+    public long getLastFrameVertexBytes() {
+        return lastFrameQuads * VERTICES_PER_QUAD * BYTES_PER_VERTEX;
+    }
+
+    public int getX1(int quad) { return quads[quad * INTS_PER_QUAD]; }
+    public int getY1(int quad) { return quads[quad * INTS_PER_QUAD + 1]; }
+    public int getX2(int quad) { return quads[quad * INTS_PER_QUAD + 2]; }
+    public int getY2(int quad) { return quads[quad * INTS_PER_QUAD + 3]; }
+    public int getColor(int quad) { return quads[quad * INTS_PER_QUAD + 4]; }
+}
@@ -0,0 +1,26 @@
+package com.visualclient.render;
+
+/**
+ * A HUD element managed by {@link HudLayer}.
+ * Retained widgets are rasterized into the cached HUD layer and only redrawn when
+ * {@link #update} reports a change; immediate widgets are drawn every frame.
+ */
+public interface HudWidget {
+    /**
+     * Refresh state for this frame. The sink is only for measuring (e.g. text width).
+     * @return true if the widget's pixels differ from what was last rendered
+     */
+    boolean update(int screenWidth, int screenHeight, DrawSink sink);
+
+    boolean isVisible();
+
+    /**
+     * Bounds in GUI pixels, valid after {@link #update}
+     */
+    int getX();
+    int getY();
+    int getWidth();
+    int getHeight();
+
+    void render(DrawSink sink);
+}
@@ -0,0 +1,107 @@
+package com.visualclient.render;
+
+/**
+ * In-memory {@link DrawSink} and {@link WorldQuadSink} that records what would be drawn.
+ * Counts draw calls and vertices per frame without a GPU or a running client, for
+ * headless replays and budget checks. Text is measured with a fixed-width font.
+ */
+public class RecordingDrawSink implements DrawSink, WorldQuadSink {
+    public static final int GLYPH_WIDTH = 6;
+    public static final int LINE_HEIGHT = 9;
+
+    private int frameDrawCalls = 0;
+    private int frameVertices = 0;
+    private int frameTextRuns = 0;
+    private long totalDrawCalls = 0;
+    private long totalVertices = 0;
+    private int worldVerticesInBatch = 0;
+
+    /**
+     * Start counting a new frame
+     */
+    public void beginFrame() {
+        frameDrawCalls = 0;
+        frameVertices = 0;
+        frameTextRuns = 0;
+    }
+
+    @Override
+    public void fill(int x1, int y1, int x2, int y2, int color) {
+        record(1, 4);
+    }
+
+    @Override
+    public void quads(HudQuadBatch batch) {
+        int quads = batch.getQuadCount();
+        if (quads > 0) {
+            record(1, quads * HudQuadBatch.VERTICES_PER_QUAD);
+        }
+        batch.reset();
+    }
+
+    @Override
+    public void text(String text, int x, int y, int color, int shadowColor, int shadowOffset, float scale) {
+        int passes = shadowOffset != 0 ? 2 : 1;
+        frameTextRuns += passes;
+        record(passes, passes * text.length() * 4);
+    }
+
+    @Override
+    public void text(String text, int x, int y, int color, int shadowColor, int shadowOffset, float scale, float drawScale) {
+        text(text, x, y, color, shadowColor, shadowOffset, scale);
+    }
+
+    @Override
+    public float textWidth(String text, float scale) {
+        return text.length() * GLYPH_WIDTH * scale;
+    }
+
+    @Override
+    public int lineHeight() {
+        return LINE_HEIGHT;
+    }
+
+    @Override
+    public void begin() {
+        worldVerticesInBatch = 0;
+    }
+
+    @Override
+    public void vertex(float x, float y, float z, int color) {
+        worldVerticesInBatch++;
+    }
+
+    @Override
+    public void end() {
+        if (worldVerticesInBatch > 0) {
+            record(1, worldVerticesInBatch);
+        }
+    }
+
+    private void record(int drawCalls, int vertices) {
+        frameDrawCalls += drawCalls;
+        frameVertices += vertices;
+        totalDrawCalls += drawCalls;
+        totalVertices += vertices;
+    }
+
+    public int getFrameDrawCalls() {
+        return frameDrawCalls;
+    }
+
+    public int getFrameVertices() {
+        return frameVertices;
+    }
+
+    public int getFrameTextRuns() {
+        return frameTextRuns;
+    }
+
+    public long getTotalDrawCalls() {
+        return totalDrawCalls;
+    }
+
+    public long getTotalVertices() {
+        return totalVertices;
+    }
+}
@@ -0,0 +1,56 @@
+package com.visualclient.render;
+
+/**
+ * Headless {@link HudLayerBackend}: widgets draw into the frame's sink, and the
+ * composite blit is recorded as one full-screen fill. Pairs with {@link RecordingDrawSink}.
+ */
+public class RecordingHudBackend implements HudLayerBackend {
+    private DrawSink sink;
+    private int screenWidth;
+    private int screenHeight;
+    private long widgetDraws = 0;
+    private long clears = 0;
+
+    @Override
+    public void beginFrame(DrawSink frameSink) {
+        this.sink = frameSink;
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        screenWidth = width;
+        screenHeight = height;
+    }
+
+    @Override
+    public void beginUpdate() {
+    }
+
+    @Override
+    public void clearRegion(int x, int y, int width, int height) {
+        clears++;
+    }
+
+    @Override
+    public void drawWidget(HudWidget widget, int clipX, int clipY, int clipWidth, int clipHeight) {
+        widgetDraws++;
+        widget.render(sink);
+    }
+
+    @Override
+    public void endUpdate() {
+    }
+
+    @Override
+    public void blit() {
+        sink.fill(0, 0, screenWidth, screenHeight, 0xFFFFFFFF);
+    }
+
+    public long getWidgetDraws() {
+        return widgetDraws;
+    }
+
+    public long getClears() {
+        return clears;
+    }
+}
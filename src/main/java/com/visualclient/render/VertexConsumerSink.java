@@ -0,0 +1,38 @@
+package com.visualclient.render;
+
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderContext;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.VertexConsumer;
+import org.joml.Matrix4f;
+
+/**
+ * {@link WorldQuadSink} that writes into the world render consumers of the current frame.
+ */
+public class VertexConsumerSink implements WorldQuadSink {
+    private WorldRenderContext context;
+    private VertexConsumer buffer;
+    private Matrix4f matrix;
+
+    /**
+     * Point the sink at the world render context of the frame being rendered
+     */
+    public void setContext(WorldRenderContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void begin() {
+        matrix = context.matrixStack().peek().getPositionMatrix();
+        buffer = context.consumers().getBuffer(RenderLayer.getDebugQuads());
+    }
+
+    @Override
+    public void vertex(float x, float y, float z, int color) {
+        buffer.vertex(matrix, x, y, z).color(color);
+    }
+
+    @Override
+    public void end() {
+        buffer = null;
+    }
+}
@@ -0,0 +1,141 @@
+package com.visualclient.render;
+
+/**
+ * View frustum and distance test for world-space effects.
+ * Built from plain camera values (position, yaw, pitch, field of view, aspect), so
+ * culling decisions can be checked against a synthetic camera without a running client.
+ * All planes pass through the camera, so tests are a few dot products.
+ */
+public class ViewCuller {
+    // Extra field of view, covers FOV effects (sprinting, speed) not reflected in the settings value
+    private static final float FOV_MARGIN_DEGREES = 10f;
+
+    private double camX, camY, camZ;
+    private boolean hasCamera = false;
+    private float maxDistance = Float.MAX_VALUE;
+    private float maxDistanceSq = Float.MAX_VALUE;
+
+    // Inward plane normals: near, left, right, bottom, top
+    private final float[] planeX = new float[5];
+    private final float[] planeY = new float[5];
+    private final float[] planeZ = new float[5];
+
+    private long tested = 0;
+    private long culled = 0;
+
+    /**
+     * Set up the frustum for a camera.
+     *
+     * @param yaw         Minecraft yaw in degrees (0 = +Z)
+     * @param pitch       Minecraft pitch in degrees (positive looks down)
+     * @param fovY        vertical field of view in degrees
+     * @param aspect      viewport width / height
+     * @param maxDistance anything farther from the camera is culled
+     */
+    public void setCamera(double x, double y, double z, float yaw, float pitch,
+                          float fovY, float aspect, float maxDistance) {
+        camX = x;
+        camY = y;
+        camZ = z;
+        hasCamera = true;
+        this.maxDistance = maxDistance;
+        maxDistanceSq = maxDistance * maxDistance;
+
+        double yawRad = Math.toRadians(yaw);
+        double pitchRad = Math.toRadians(pitch);
+        float sinYaw = (float) Math.sin(yawRad);
+        float cosYaw = (float) Math.cos(yawRad);
+        float sinPitch = (float) Math.sin(pitchRad);
+        float cosPitch = (float) Math.cos(pitchRad);
+
+        // Same basis as the entity look vector and the particle billboards
+        float fx = -sinYaw * cosPitch, fy = -sinPitch, fz = cosYaw * cosPitch;
+        float rx = -cosYaw, ry = 0f, rz = -sinYaw;
+        float ux = -sinYaw * sinPitch, uy = cosPitch, uz = cosYaw * sinPitch;
+
+        float tanY = (float) Math.tan(Math.toRadians(Math.min(179f, fovY + FOV_MARGIN_DEGREES) / 2));
+        float tanX = tanY * aspect;
+
+        setPlane(0, fx, fy, fz);
+        setPlane(1, fx * tanX + rx, fy * tanX + ry, fz * tanX + rz);
+        setPlane(2, fx * tanX - rx, fy * tanX - ry, fz * tanX - rz);
+        setPlane(3, fx * tanY + ux, fy * tanY + uy, fz * tanY + uz);
+        setPlane(4, fx * tanY - ux, fy * tanY - uy, fz * tanY - uz);
+    }
+
+    private void setPlane(int i, float x, float y, float z) {
+        float length = (float) Math.sqrt(x * x + y * y + z * z);
+        planeX[i] = x / length;
+        planeY[i] = y / length;
+        planeZ[i] = z / length;
+    }
+
+    /**
+     * Whether any part of a world-space box may be on screen and in range
+     */
+    public boolean isBoxVisible(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        tested++;
+        float x0 = (float) (minX - camX), y0 = (float) (minY - camY), z0 = (float) (minZ - camZ);
+        float x1 = (float) (maxX - camX), y1 = (float) (maxY - camY), z1 = (float) (maxZ - camZ);
+
+        // Distance from the camera to the closest point of the box
+        float dx = x0 > 0 ? x0 : (x1 < 0 ? x1 : 0);
+        float dy = y0 > 0 ? y0 : (y1 < 0 ? y1 : 0);
+        float dz = z0 > 0 ? z0 : (z1 < 0 ? z1 : 0);
+        if (dx * dx + dy * dy + dz * dz > maxDistanceSq) {
+            culled++;
+            return false;
+        }
+
+        for (int i = 0; i < 5; i++) {
+            // Corner of the box furthest along the plane normal
+            float px = planeX[i] >= 0 ? x1 : x0;
+            float py = planeY[i] >= 0 ? y1 : y0;
+            float pz = planeZ[i] >= 0 ? z1 : z0;
+            if (planeX[i] * px + planeY[i] * py + planeZ[i] * pz < 0) {
+                culled++;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether a sphere around a world-space point may be on screen and in range
+     */
+    public boolean isPointVisible(double x, double y, double z, float radius) {
+        tested++;
+        float px = (float) (x - camX), py = (float) (y - camY), pz = (float) (z - camZ);
+        float reach = maxDistance + radius;
+        if (px * px + py * py + pz * pz > reach * reach) {
+            culled++;
+            return false;
+        }
+        for (int i = 0; i < 5; i++) {
+            if (planeX[i] * px + planeY[i] * py + planeZ[i] * pz < -radius) {
+                culled++;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether a camera has been set; before the first frame everything is visible
+     */
+    public boolean hasCamera() {
+        return hasCamera;
+    }
+
+    public double getCameraX() { return camX; }
+    public double getCameraY() { return camY; }
+    public double getCameraZ() { return camZ; }
+
+    public long getTestedCount() {
+        return tested;
+    }
+
+    public long getCulledCount() {
+        return culled;
+    }
+}
@@ -0,0 +1,13 @@
+package com.visualclient.render;
+
+/**
+ * Destination for camera-relative world-space quads (particles, trails).
+ * Vertices are emitted in groups of four between {@link #begin} and {@link #end}.
+ */
+public interface WorldQuadSink {
+    void begin();
+
+    void vertex(float x, float y, float z, int color);
+
+    void end();
+}
@@ -0,0 +1,69 @@
+package com.visualclient.util;
+
+/**
+ * Allocation-free number formatting into a caller-owned char buffer.
+ * Values are passed pre-scaled (e.g. 1.25 with 2 decimals is 125), which is also
+ * the quantized key callers use to detect when the displayed text changes.
+ */
+public final class FixedPointFormat {
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L
+    };
+
+    private FixedPointFormat() {
+    }
+
+    /**
+     * Scale and round a value to the given number of decimals (half up, like %.Nf)
+     */
+    public static long quantize(double value, int decimals) {
+        return Math.round(value * POWERS_OF_TEN[decimals]);
+    }
+
+    /**
+     * Write a scaled value with the given number of decimals, returning the new position
+     */
+    public static int write(char[] buf, int pos, long scaled, int decimals) {
+        if (scaled < 0) {
+            buf[pos++] = '-';
+            scaled = -scaled;
+        }
+        long divisor = POWERS_OF_TEN[decimals];
+        pos = writeInt(buf, pos, scaled / divisor);
+        if (decimals > 0) {
+            buf[pos++] = '.';
+            long fraction = scaled % divisor;
+            for (int d = decimals - 1; d >= 0; d--) {
+                buf[pos++] = (char) ('0' + (fraction / POWERS_OF_TEN[d]) % 10);
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Write an integer, returning the new position
+     */
+    public static int writeInt(char[] buf, int pos, long value) {
+        if (value < 0) {
+            buf[pos++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + digits;
+    }
+
+    /**
+     * Copy a string into the buffer, returning the new position
+     */
+    public static int write(char[] buf, int pos, String text) {
+        text.getChars(0, text.length(), buf, pos);
+        return pos + text.length();
+    }
+}
@@ -1,6 +1,26 @@
 package com.visualclient;
 
+import com.visualclient.config.ConfigApplier;
+import com.visualclient.config.ConfigManager;
+import com.visualclient.core.FrameProfiler;
+import com.visualclient.core.FrameScheduler;
+import com.visualclient.core.ModuleManager;
+import com.visualclient.core.ProfilerOverlay;
+import com.visualclient.features.visuals.laminar.LaminarVisualsModule;
+import com.visualclient.features.visuals.opka.OpkaVisualsModule;
+import com.visualclient.features.visuals.pulse.PulseVisualsModule;
+import com.visualclient.features.visuals.topka.TopkaVisualsModule;
+import com.visualclient.render.HudLayer;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.option.KeyBinding;
+import net.minecraft.client.util.InputUtil;
+import org.lwjgl.glfw.GLFW;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,9 +32,102 @@ public class VisualClientMod implements ClientModInitializer {
     public static final String MOD_ID = "visualclient";
     public static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
 
+    private static final Path PROFILE_DIR = Path.of("config/visualclient/profiles");
+
+    private static ConfigManager configManager;
+    private static FrameScheduler scheduler;
+    private static ModuleManager modules;
+    private static ProfilerOverlay profilerOverlay;
+    private static KeyBinding profilerKey;
+    private static KeyBinding profileDumpKey;
+
     @Override
     public void onInitializeClient() {
+        configManager = new ConfigManager();
+        // Pending debounced saves must reach the disk before the JVM exits
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> {
+            configManager.stopWatching();
+            configManager.flush();
+            modules.disposeAll();
+        });
+
+        // One scheduler owns all tick, world render and HUD dispatch
+        scheduler = new FrameScheduler();
+        scheduler.install();
+        HudLayer.install(scheduler);
+
+        // Modules are only constructed once enabled; warm-up runs in the background
+        long start = System.nanoTime();
+        modules = new ModuleManager(scheduler, MinecraftClient.getInstance());
+        modules.register("pulse", PulseVisualsModule::new);
+        modules.register("laminar", LaminarVisualsModule::new);
+        modules.register("opka", OpkaVisualsModule::new);
+        modules.register("topka", TopkaVisualsModule::new);
+
+        registerProfiler();
+
+        // Apply the saved settings, then follow edits made to config.json while running
+        ConfigApplier.apply(null, configManager.getConfig(), scheduler, modules, profilerOverlay);
+        modules.whenReady().thenRun(() ->
+            LOGGER.info("Modules ready {} ms after startup", (System.nanoTime() - start) / 1_000_000));
+        configManager.startWatching(MinecraftClient.getInstance(), (previous, next) -> {
+            int changed = ConfigApplier.apply(previous, next, scheduler, modules, profilerOverlay);
+            LOGGER.info("Reloaded config.json ({} settings changed)", changed);
+        });
+
         LOGGER.info("VisualClient mod initialized!");
-        // Module initialization will be called here
+    }
+
+    /**
+     * F6 toggles the frame profiler and its overlay, F7 dumps the current window to CSV
+     */
+    private static void registerProfiler() {
+        profilerOverlay = new ProfilerOverlay(scheduler.getProfiler());
+        HudLayer.addRetained("profiler", profilerOverlay);
+
+        profilerKey = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+            "key.visualclient.profiler", InputUtil.Type.KEYSYM, GLFW.GLFW_KEY_F6, "category.visualclient"));
+        profileDumpKey = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+            "key.visualclient.profiler_dump", InputUtil.Type.KEYSYM, GLFW.GLFW_KEY_F7, "category.visualclient"));
+
+        scheduler.register("profiler-keys", FrameScheduler.Phase.TICK, FrameScheduler.PRIORITY_EARLY, context -> {
+            FrameProfiler profiler = scheduler.getProfiler();
+            while (profilerKey.wasPressed()) {
+                profiler.setEnabled(!profiler.isEnabled());
+            }
+            while (profileDumpKey.wasPressed()) {
+                if (profiler.isEnabled()) {
+                    dumpProfile(profiler);
+                }
+            }
+        });
+    }
+
+    private static void dumpProfile(FrameProfiler profiler) {
+        Path file = PROFILE_DIR.resolve("frame-profile-" + System.currentTimeMillis() + ".csv");
+        CompletableFuture.runAsync(() -> {
+            try {
+                profiler.writeCsv(file);
+                LOGGER.info("Frame profile written to {}", file);
+            } catch (IOException e) {
+                LOGGER.error("Failed to write frame profile", e);
+            }
+        });
+    }
+
+    public static ProfilerOverlay getProfilerOverlay() {
+        return profilerOverlay;
+    }
+
+    public static ConfigManager getConfigManager() {
+        return configManager;
+    }
+
+    public static ModuleManager getModules() {
+        return modules;
+    }
+
+    public static FrameScheduler getScheduler() {
+        return scheduler;
     }
 }